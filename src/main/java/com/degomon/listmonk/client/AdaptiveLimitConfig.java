@@ -0,0 +1,179 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration for the adaptive concurrency limiter.
+ * The limiter caps the number of requests in flight and adjusts the cap after every call from
+ * its round-trip time and outcome. Connection errors and 429, 502, 503 and 504 responses count
+ * as drops, signalling that the server is overloaded.
+ */
+public class AdaptiveLimitConfig {
+    
+    private final LimitAlgorithm algorithm;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration latencyTimeout;
+    private final double backoffRatio;
+    
+    private AdaptiveLimitConfig(Builder builder) {
+        this.algorithm = builder.algorithm;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = Math.max(builder.maxLimit, builder.minLimit);
+        this.initialLimit = Math.max(minLimit, Math.min(maxLimit, builder.initialLimit));
+        this.latencyTimeout = builder.latencyTimeout;
+        this.backoffRatio = builder.backoffRatio;
+    }
+    
+    public LimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+    
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+    
+    public int getMinLimit() {
+        return minLimit;
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    
+    public Duration getLatencyTimeout() {
+        return latencyTimeout;
+    }
+    
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+    
+    /**
+     * Create a new builder for AdaptiveLimitConfig.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder for creating AdaptiveLimitConfig instances.
+     */
+    public static class Builder {
+        private LimitAlgorithm algorithm = LimitAlgorithm.VEGAS;
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private Duration latencyTimeout = Duration.ofSeconds(5);
+        private double backoffRatio = 0.9;
+        
+        private Builder() {
+        }
+        
+        /**
+         * Set the algorithm that adjusts the limit.
+         *
+         * @param algorithm the limit algorithm
+         * @return this Builder
+         */
+        public Builder algorithm(LimitAlgorithm algorithm) {
+            this.algorithm = Objects.requireNonNull(algorithm, "Algorithm cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the number of requests allowed in flight before any calls have been measured.
+         *
+         * @param initialLimit the initial limit
+         * @return this Builder
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+        
+        /**
+         * Set the lowest the limit can fall.
+         *
+         * @param minLimit the minimum limit
+         * @return this Builder
+         */
+        public Builder minLimit(int minLimit) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("Min limit must be at least 1");
+            }
+            this.minLimit = minLimit;
+            return this;
+        }
+        
+        /**
+         * Set the highest the limit can grow.
+         *
+         * @param maxLimit the maximum limit
+         * @return this Builder
+         */
+        public Builder maxLimit(int maxLimit) {
+            if (maxLimit < 1) {
+                throw new IllegalArgumentException("Max limit must be at least 1");
+            }
+            this.maxLimit = maxLimit;
+            return this;
+        }
+        
+        /**
+         * Set the round-trip time above which {@link LimitAlgorithm#AIMD} treats a call as a drop.
+         *
+         * @param latencyTimeout the latency timeout
+         * @return this Builder
+         */
+        public Builder latencyTimeout(Duration latencyTimeout) {
+            this.latencyTimeout = Objects.requireNonNull(latencyTimeout, "Latency timeout cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the factor {@link LimitAlgorithm#AIMD} multiplies the limit by after a drop.
+         *
+         * @param backoffRatio the backoff ratio between 0.5 and 1 (exclusive)
+         * @return this Builder
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (backoffRatio < 0.5 || backoffRatio >= 1.0) {
+                throw new IllegalArgumentException("Backoff ratio must be at least 0.5 and less than 1");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+        
+        /**
+         * Build the AdaptiveLimitConfig instance.
+         *
+         * @return an AdaptiveLimitConfig
+         */
+        public AdaptiveLimitConfig build() {
+            return new AdaptiveLimitConfig(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Set;
+
+/**
+ * Interceptor holding every request to the adaptive concurrency limit.
+ * The round-trip time is measured until the response headers arrive, and each network attempt
+ * is a separate sample, so the interceptor sits below the retry interceptor.
+ * A request waiting for a slot gives up after its own call or read timeout and honours its own
+ * cancellation.
+ */
+final class AdaptiveLimitInterceptor implements Interceptor {
+    
+    private static final Set<Integer> OVERLOAD_STATUSES = Set.of(429, 502, 503, 504);
+    
+    private final AdaptiveLimiter limiter;
+    
+    AdaptiveLimitInterceptor(AdaptiveLimiter limiter) {
+        this.limiter = limiter;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        boolean acquired;
+        try {
+            acquired = limiter.acquire(CoalescingInterceptor.waitBudgetNanos(chain), chain.call()::isCanceled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a concurrency slot");
+        }
+        if (!acquired) {
+            if (chain.call().isCanceled()) {
+                throw new InterruptedIOException("Canceled");
+            }
+            throw new SocketTimeoutException("timeout waiting for a concurrency slot");
+        }
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            if (chain.call().isCanceled()) {
+                limiter.cancel();
+            } else {
+                limiter.release(System.nanoTime() - start, true);
+            }
+            throw e;
+        }
+        limiter.release(System.nanoTime() - start, OVERLOAD_STATUSES.contains(response.code()));
+        return response;
+    }
+}
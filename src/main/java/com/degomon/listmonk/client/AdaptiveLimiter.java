@@ -0,0 +1,204 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Concurrency limiter whose limit is adjusted by a {@link LimitAlgorithm} after every call.
+ * Callers block in {@link #acquire(long, BooleanSupplier)} while the number of calls in flight is at
+ * the limit, until a slot frees up, their deadline passes or they are cancelled.
+ * The algorithms follow the AIMD, Vegas and Gradient2 limits from Netflix's concurrency-limits
+ * library, scaled down to what a single client needs.
+ */
+final class AdaptiveLimiter {
+    
+    /**
+     * Vegas re-measures the no-load round-trip time after this many samples, so the baseline
+     * can follow the server when it gets permanently slower or faster.
+     */
+    private static final int VEGAS_PROBE_INTERVAL = 1000;
+    private static final double GRADIENT_TOLERANCE = 1.5;
+    private static final double GRADIENT_SMOOTHING = 0.2;
+    private static final int GRADIENT_LONG_WINDOW = 600;
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final AdaptiveLimitConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight = 0;
+    private long noLoadRtt = Long.MAX_VALUE;
+    private int samples = 0;
+    private double longRtt = 0;
+    
+    AdaptiveLimiter(AdaptiveLimitConfig config) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+    }
+    
+    /**
+     * Wait until a call may start, without a deadline.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire() throws InterruptedException {
+        acquire(0, () -> false);
+    }
+    
+    /**
+     * Wait until a call may start, giving up when the timeout passes or the caller is cancelled.
+     *
+     * @param timeoutNanos the longest time to wait, or 0 to wait without a deadline
+     * @param canceled     checked at least every 50ms while waiting
+     * @return true if a slot was acquired, false if the wait timed out or was cancelled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean acquire(long timeoutNanos, BooleanSupplier canceled) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                if (canceled.getAsBoolean()) {
+                    return false;
+                }
+                long slice = WAIT_SLICE_NANOS;
+                if (timeoutNanos > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    slice = Math.min(slice, remaining);
+                }
+                available.awaitNanos(slice);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Record the outcome of a call, adjust the limit and release its slot.
+     *
+     * @param rttNanos the round-trip time of the call
+     * @param dropped  whether the call failed in a way that signals overload
+     */
+    void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            update(Math.max(1, rttNanos), dropped, inFlight);
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Release a slot without recording a sample, for calls that were cancelled.
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void update(long rtt, boolean dropped, int inFlight) {
+        double next;
+        switch (config.getAlgorithm()) {
+            case AIMD:
+                next = aimd(rtt, dropped, inFlight);
+                break;
+            case VEGAS:
+                next = vegas(rtt, dropped, inFlight);
+                break;
+            default:
+                next = gradient(rtt, dropped, inFlight);
+                break;
+        }
+        limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), next));
+    }
+    
+    private double aimd(long rtt, boolean dropped, int inFlight) {
+        if (dropped || rtt > config.getLatencyTimeout().toNanos()) {
+            return limit * config.getBackoffRatio();
+        }
+        // Only grow when the limit is actually being used, otherwise it says nothing about capacity
+        return inFlight * 2 >= limit ? limit + 1 : limit;
+    }
+    
+    private double vegas(long rtt, boolean dropped, int inFlight) {
+        if (++samples % VEGAS_PROBE_INTERVAL == 0) {
+            noLoadRtt = rtt;
+        }
+        noLoadRtt = Math.min(noLoadRtt, rtt);
+        
+        double log = Math.max(1, Math.log10(limit));
+        if (dropped) {
+            return limit - log;
+        }
+        if (inFlight * 2 < limit) {
+            return limit;
+        }
+        double queue = Math.ceil(limit * (1 - (double) noLoadRtt / rtt));
+        double alpha = 3 * log;
+        double beta = 6 * log;
+        if (queue <= log) {
+            return limit + beta;
+        }
+        if (queue < alpha) {
+            return limit + log;
+        }
+        if (queue > beta) {
+            return limit - log;
+        }
+        return limit;
+    }
+    
+    private double gradient(long rtt, boolean dropped, int inFlight) {
+        // Exponentially weighted average over roughly the last GRADIENT_LONG_WINDOW samples
+        samples = Math.min(samples + 1, GRADIENT_LONG_WINDOW);
+        longRtt += (rtt - longRtt) / samples;
+        
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, GRADIENT_TOLERANCE * longRtt / rtt));
+        if (gradient >= 1.0 && inFlight * 2 < limit) {
+            return limit;
+        }
+        double target = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - GRADIENT_SMOOTHING) + target * GRADIENT_SMOOTHING;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.CampaignRequest;
+import com.degomon.listmonk.model.CampaignStatusRequest;
+import com.degomon.listmonk.model.ListRequest;
+import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Page;
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.SubscriberRequest;
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.AsyncCampaignService;
+import com.degomon.listmonk.service.AsyncHealthService;
+import com.degomon.listmonk.service.AsyncListService;
+import com.degomon.listmonk.service.AsyncSubscriberService;
+import com.degomon.listmonk.service.AsyncTransactionalService;
+import com.degomon.listmonk.service.CampaignService;
+import com.degomon.listmonk.service.HealthService;
+import com.degomon.listmonk.service.ListService;
+import com.degomon.listmonk.service.SubscriberService;
+import com.degomon.listmonk.service.TransactionalService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous view of a {@link ListmonkClient}.
+ * Calls are enqueued on the OkHttp dispatcher instead of blocking the calling thread, and
+ * the returned futures complete with the data unwrapped from the API response envelope.
+ * A non-successful HTTP status completes the future with a {@link ListmonkException}.
+ */
+public class AsyncListmonkClient {
+    
+    private final AsyncSubscriberService subscriberService;
+    private final AsyncListService listService;
+    private final AsyncCampaignService campaignService;
+    private final AsyncHealthService healthService;
+    private final AsyncTransactionalService transactionalService;
+    
+    AsyncListmonkClient(ListmonkClient client) {
+        this.subscriberService = new Subscribers(client.subscribers());
+        this.listService = new Lists(client.lists());
+        this.campaignService = new Campaigns(client.campaigns());
+        this.healthService = new Health(client.health());
+        this.transactionalService = new Transactional(client.transactional());
+    }
+    
+    /**
+     * Get the asynchronous Subscriber service.
+     *
+     * @return AsyncSubscriberService instance
+     */
+    public AsyncSubscriberService subscribers() {
+        return subscriberService;
+    }
+    
+    /**
+     * Get the asynchronous List service.
+     *
+     * @return AsyncListService instance
+     */
+    public AsyncListService lists() {
+        return listService;
+    }
+    
+    /**
+     * Get the asynchronous Campaign service.
+     *
+     * @return AsyncCampaignService instance
+     */
+    public AsyncCampaignService campaigns() {
+        return campaignService;
+    }
+    
+    /**
+     * Get the asynchronous Health service.
+     *
+     * @return AsyncHealthService instance
+     */
+    public AsyncHealthService health() {
+        return healthService;
+    }
+    
+    /**
+     * Get the asynchronous Transactional service.
+     *
+     * @return AsyncTransactionalService instance
+     */
+    public AsyncTransactionalService transactional() {
+        return transactionalService;
+    }
+    
+    private static final class Subscribers implements AsyncSubscriberService {
+        private final SubscriberService service;
+        
+        Subscribers(SubscriberService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public CompletableFuture<List<Subscriber>> getSubscribers(Integer page, Integer perPage, String orderBy,
+                                                                  String order, String query, Long listId) {
+            return Calls.enqueue(service.getSubscribers(page, perPage, orderBy, order, query, listId));
+        }
+        
+        @Override
+        public CompletableFuture<Page<Subscriber>> getSubscribersPage(Integer page, Integer perPage, String orderBy,
+                                                                      String order, String query, Long listId) {
+            return Calls.enqueue(service.getSubscribersPage(page, perPage, orderBy, order, query, listId));
+        }
+        
+        @Override
+        public CompletableFuture<Subscriber> getSubscriberById(Long id) {
+            return Calls.enqueueUnwrapped(service.getSubscriberByIdUnwrapped(id));
+        }
+        
+        @Override
+        public CompletableFuture<Subscriber> createSubscriber(Map<String, Object> subscriber) {
+            return Calls.enqueue(service.createSubscriber(subscriber));
+        }
+        
+        @Override
+        public CompletableFuture<Subscriber> createSubscriber(SubscriberRequest subscriber) {
+            return Calls.enqueue(service.createSubscriber(subscriber));
+        }
+        
+        @Override
+        public CompletableFuture<Subscriber> updateSubscriber(Long id, Map<String, Object> subscriber) {
+            return Calls.enqueue(service.updateSubscriber(id, subscriber));
+        }
+        
+        @Override
+        public CompletableFuture<Subscriber> updateSubscriber(Long id, SubscriberRequest subscriber) {
+            return Calls.enqueue(service.updateSubscriber(id, subscriber));
+        }
+        
+        @Override
+        public CompletableFuture<Object> deleteSubscriber(Long id) {
+            return Calls.enqueue(service.deleteSubscriber(id));
+        }
+    }
+    
+    private static final class Lists implements AsyncListService {
+        private final ListService service;
+        
+        Lists(ListService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public CompletableFuture<List<MailingList>> getLists(Integer page, Integer perPage, String query,
+                                                             String orderBy, String order) {
+            return Calls.enqueue(service.getLists(page, perPage, query, orderBy, order));
+        }
+        
+        @Override
+        public CompletableFuture<Page<MailingList>> getListsPage(Integer page, Integer perPage, String query,
+                                                                 String orderBy, String order) {
+            return Calls.enqueue(service.getListsPage(page, perPage, query, orderBy, order));
+        }
+        
+        @Override
+        public CompletableFuture<MailingList> getListById(Long id) {
+            return Calls.enqueue(service.getListById(id));
+        }
+        
+        @Override
+        public CompletableFuture<MailingList> createList(Map<String, Object> list) {
+            return Calls.enqueue(service.createList(list));
+        }
+        
+        @Override
+        public CompletableFuture<MailingList> createList(ListRequest list) {
+            return Calls.enqueue(service.createList(list));
+        }
+        
+        @Override
+        public CompletableFuture<MailingList> updateList(Long id, Map<String, Object> list) {
+            return Calls.enqueue(service.updateList(id, list));
+        }
+        
+        @Override
+        public CompletableFuture<MailingList> updateList(Long id, ListRequest list) {
+            return Calls.enqueue(service.updateList(id, list));
+        }
+        
+        @Override
+        public CompletableFuture<Object> deleteList(Long id) {
+            return Calls.enqueue(service.deleteList(id));
+        }
+    }
+    
+    private static final class Campaigns implements AsyncCampaignService {
+        private final CampaignService service;
+        
+        Campaigns(CampaignService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public CompletableFuture<List<Campaign>> getCampaigns(Integer page, Integer perPage, String query,
+                                                              String status, String orderBy, String order) {
+            return Calls.enqueue(service.getCampaigns(page, perPage, query, status, orderBy, order));
+        }
+        
+        @Override
+        public CompletableFuture<Page<Campaign>> getCampaignsPage(Integer page, Integer perPage, String query,
+                                                                  String status, String orderBy, String order) {
+            return Calls.enqueue(service.getCampaignsPage(page, perPage, query, status, orderBy, order));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> getCampaignById(Long id) {
+            return Calls.enqueue(service.getCampaignById(id));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> createCampaign(Map<String, Object> campaign) {
+            return Calls.enqueue(service.createCampaign(campaign));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> createCampaign(CampaignRequest campaign) {
+            return Calls.enqueue(service.createCampaign(campaign));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> updateCampaign(Long id, Map<String, Object> campaign) {
+            return Calls.enqueue(service.updateCampaign(id, campaign));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> updateCampaign(Long id, CampaignRequest campaign) {
+            return Calls.enqueue(service.updateCampaign(id, campaign));
+        }
+        
+        @Override
+        public CompletableFuture<Object> deleteCampaign(Long id) {
+            return Calls.enqueue(service.deleteCampaign(id));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> updateCampaignStatus(Long id, Map<String, Object> status) {
+            return Calls.enqueue(service.updateCampaignStatus(id, status));
+        }
+        
+        @Override
+        public CompletableFuture<Campaign> updateCampaignStatus(Long id, CampaignStatusRequest status) {
+            return Calls.enqueue(service.updateCampaignStatus(id, status));
+        }
+    }
+    
+    private static final class Health implements AsyncHealthService {
+        private final HealthService service;
+        
+        Health(HealthService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> getHealth() {
+            return Calls.enqueue(service.getHealth());
+        }
+    }
+    
+    private static final class Transactional implements AsyncTransactionalService {
+        private final TransactionalService service;
+        
+        Transactional(TransactionalService service) {
+            this.service = service;
+        }
+        
+        @Override
+        public CompletableFuture<Boolean> sendTransactionalMessage(TransactionalMessage message) {
+            return Calls.enqueueUnwrapped(service.sendTransactionalMessageUnwrapped(message));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects items into per-key batches and flushes each batch when it reaches the maximum size
+ * or when the time window since its first item has elapsed, whichever comes first.
+ * Size-triggered flushes run on the adding thread; time-triggered flushes run on an internal
+ * scheduler thread, so the flush action should hand off slow work rather than block.
+ *
+ * @param <K> the type of the batch key
+ * @param <T> the type of the batched items
+ */
+final class Batcher<K, T> implements AutoCloseable {
+    
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BiConsumer<K, List<T>> flusher;
+    private final ScheduledExecutorService scheduler;
+    private final Map<K, List<T>> pending = new HashMap<>();
+    private boolean closed = false;
+    
+    Batcher(String name, Duration window, int maxBatchSize, BiConsumer<K, List<T>> flusher) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Batch window cannot be negative");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1");
+        }
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = flusher;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(VirtualThreads.platformThreadFactory(name));
+    }
+    
+    /**
+     * Add an item to the batch for a key.
+     *
+     * @param key  the batch key
+     * @param item the item to add
+     * @throws IllegalStateException if the batcher has been closed
+     */
+    void add(K key, T item) {
+        List<T> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Batcher has been closed");
+            }
+            List<T> batch = pending.get(key);
+            if (batch == null) {
+                batch = new ArrayList<>();
+                pending.put(key, batch);
+                List<T> scheduled = batch;
+                scheduler.schedule(() -> flush(key, scheduled), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.add(item);
+            if (batch.size() >= maxBatchSize) {
+                pending.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            flusher.accept(key, full);
+        }
+    }
+    
+    /**
+     * Flush all pending batches immediately on the calling thread.
+     */
+    void flushAll() {
+        Map<K, List<T>> batches;
+        synchronized (this) {
+            batches = new HashMap<>(pending);
+            pending.clear();
+        }
+        batches.forEach(flusher);
+    }
+    
+    /**
+     * Flush all pending batches and stop the scheduler. Further additions are rejected.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flushAll();
+        scheduler.shutdownNow();
+    }
+    
+    private void flush(K key, List<T> batch) {
+        synchronized (this) {
+            // The batch may already have been flushed because it filled up
+            if (pending.get(key) != batch) {
+                return;
+            }
+            pending.remove(key);
+        }
+        flusher.accept(key, batch);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Fully buffered copy of an HTTP response that can be replayed any number of times.
+ */
+final class BufferedResponse {
+    
+    private final int code;
+    private final String message;
+    private final Protocol protocol;
+    private final Headers headers;
+    private final MediaType contentType;
+    private final byte[] body;
+    
+    private BufferedResponse(Response response, byte[] body, MediaType contentType) {
+        this.code = response.code();
+        this.message = response.message();
+        this.protocol = response.protocol();
+        this.headers = response.headers();
+        this.contentType = contentType;
+        this.body = body;
+    }
+    
+    /**
+     * Read and close the body of a response, returning a replayable copy.
+     *
+     * @param response the response to buffer
+     * @return the buffered response
+     * @throws IOException if the body cannot be read
+     */
+    static BufferedResponse of(Response response) throws IOException {
+        try (ResponseBody responseBody = response.body()) {
+            if (responseBody == null) {
+                return new BufferedResponse(response, new byte[0], null);
+            }
+            return new BufferedResponse(response, responseBody.bytes(), responseBody.contentType());
+        }
+    }
+    
+    /**
+     * Build a new response for the given request from the buffered copy.
+     *
+     * @param request the request the response answers
+     * @return a fresh response with its own body
+     */
+    Response toResponse(Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(protocol)
+                .code(code)
+                .message(message)
+                .headers(headers)
+                .body(ResponseBody.create(body, contentType))
+                .build();
+    }
+    
+    /**
+     * Check whether the buffered response has a 2xx status.
+     *
+     * @return true if the response was successful
+     */
+    boolean isSuccessful() {
+        return code >= 200 && code < 300;
+    }
+    
+    /**
+     * Get the size of the buffered body.
+     *
+     * @return the body size in bytes
+     */
+    int weight() {
+        return body.length;
+    }
+}
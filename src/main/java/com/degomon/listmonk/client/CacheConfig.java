@@ -0,0 +1,181 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration for the in-process cache of by-ID lookups.
+ * Cached entries are subscribers, lists and campaigns fetched by ID; successful updates and
+ * deletes of the same entity made through the client evict them.
+ * <p>
+ * Eviction is plain least-recently-used in access order: once the entry or weight bound is
+ * reached, the entries read longest ago are dropped. There is no frequency-based admission such
+ * as W-TinyLFU, so a scan over many IDs can push out frequently read entries.
+ */
+public class CacheConfig {
+    
+    private final Duration subscriberTtl;
+    private final Duration listTtl;
+    private final Duration campaignTtl;
+    private final long maxEntries;
+    private final long maxWeightBytes;
+    
+    private CacheConfig(Builder builder) {
+        this.subscriberTtl = builder.subscriberTtl != null ? builder.subscriberTtl : builder.ttl;
+        this.listTtl = builder.listTtl != null ? builder.listTtl : builder.ttl;
+        this.campaignTtl = builder.campaignTtl != null ? builder.campaignTtl : builder.ttl;
+        this.maxEntries = builder.maxEntries;
+        this.maxWeightBytes = builder.maxWeightBytes;
+    }
+    
+    public Duration getSubscriberTtl() {
+        return subscriberTtl;
+    }
+    
+    public Duration getListTtl() {
+        return listTtl;
+    }
+    
+    public Duration getCampaignTtl() {
+        return campaignTtl;
+    }
+    
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+    
+    /**
+     * Create a new builder for CacheConfig.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder for creating CacheConfig instances.
+     */
+    public static class Builder {
+        private Duration ttl = Duration.ofMinutes(1);
+        private Duration subscriberTtl;
+        private Duration listTtl;
+        private Duration campaignTtl;
+        private long maxEntries = 10_000;
+        private long maxWeightBytes = Long.MAX_VALUE;
+        
+        private Builder() {
+        }
+        
+        /**
+         * Set the time-to-live for all entity types that have no specific TTL.
+         *
+         * @param ttl the time-to-live, which must be positive
+         * @return this Builder
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = positive(ttl);
+            return this;
+        }
+        
+        /**
+         * Set the time-to-live for subscribers.
+         *
+         * @param ttl the time-to-live, which must be positive
+         * @return this Builder
+         */
+        public Builder subscriberTtl(Duration ttl) {
+            this.subscriberTtl = positive(ttl);
+            return this;
+        }
+        
+        /**
+         * Set the time-to-live for mailing lists.
+         *
+         * @param ttl the time-to-live, which must be positive
+         * @return this Builder
+         */
+        public Builder listTtl(Duration ttl) {
+            this.listTtl = positive(ttl);
+            return this;
+        }
+        
+        /**
+         * Set the time-to-live for campaigns.
+         *
+         * @param ttl the time-to-live, which must be positive
+         * @return this Builder
+         */
+        public Builder campaignTtl(Duration ttl) {
+            this.campaignTtl = positive(ttl);
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of cached entries.
+         *
+         * @param maxEntries the maximum number of entries
+         * @return this Builder
+         */
+        public Builder maxEntries(long maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Max entries must be at least 1");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+        
+        /**
+         * Set the maximum total size of cached response bodies.
+         *
+         * @param maxWeightBytes the maximum total size in bytes
+         * @return this Builder
+         */
+        public Builder maxWeightBytes(long maxWeightBytes) {
+            if (maxWeightBytes < 1) {
+                throw new IllegalArgumentException("Max weight must be at least 1 byte");
+            }
+            this.maxWeightBytes = maxWeightBytes;
+            return this;
+        }
+        
+        private static Duration positive(Duration ttl) {
+            Objects.requireNonNull(ttl, "TTL cannot be null");
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive");
+            }
+            return ttl;
+        }
+        
+        /**
+         * Build the CacheConfig instance.
+         *
+         * @return a CacheConfig
+         */
+        public CacheConfig build() {
+            return new CacheConfig(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Call;
+import okhttp3.Request;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call settings of a client view created by {@link ListmonkClient#withReadTimeout(Duration)},
+ * {@link ListmonkClient#withAuth(String, String)} or {@link ListmonkClient#withTag(Class, Object)}.
+ * Each view builds its services on a {@link #callFactory(Call.Factory) call factory} that copies
+ * the overrides onto every request it creates, so they travel with the request rather than with
+ * the calling thread. The {@link #INTERCEPTOR interceptor} applies the read timeout.
+ */
+final class CallOverrides {
+    
+    static final CallOverrides NONE = new CallOverrides(null, null, Map.of());
+    
+    /**
+     * Interceptor applying the read timeout of the overrides tagged on a request.
+     */
+    static final okhttp3.Interceptor INTERCEPTOR = chain -> {
+        CallOverrides overrides = chain.request().tag(CallOverrides.class);
+        if (overrides != null && overrides.readTimeout != null) {
+            int millis = (int) Math.min(Integer.MAX_VALUE, overrides.readTimeout.toMillis());
+            return chain.withReadTimeout(millis, TimeUnit.MILLISECONDS)
+                    .proceed(chain.request());
+        }
+        return chain.proceed(chain.request());
+    };
+    
+    private final Duration readTimeout;
+    private final String authorization;
+    private final Map<Class<?>, Object> tags;
+    
+    private CallOverrides(Duration readTimeout, String authorization, Map<Class<?>, Object> tags) {
+        this.readTimeout = readTimeout;
+        this.authorization = authorization;
+        this.tags = tags;
+    }
+    
+    CallOverrides withReadTimeout(Duration readTimeout) {
+        return new CallOverrides(readTimeout, authorization, tags);
+    }
+    
+    CallOverrides withAuthorization(String authorization) {
+        return new CallOverrides(readTimeout, authorization, tags);
+    }
+    
+    CallOverrides withTag(Class<?> type, Object tag) {
+        Map<Class<?>, Object> copy = new HashMap<>(tags);
+        copy.put(type, tag);
+        return new CallOverrides(readTimeout, authorization, copy);
+    }
+    
+    /**
+     * Wrap a call factory so that every call it creates carries these overrides.
+     *
+     * @param delegate the factory creating the calls
+     * @return the wrapping factory
+     */
+    Call.Factory callFactory(Call.Factory delegate) {
+        return request -> delegate.newCall(apply(request));
+    }
+    
+    private Request apply(Request request) {
+        Request.Builder builder = request.newBuilder().tag(CallOverrides.class, this);
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        for (Map.Entry<Class<?>, Object> tag : tags.entrySet()) {
+            tagAs(builder, tag.getKey(), tag.getValue());
+        }
+        return builder.build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> void tagAs(Request.Builder builder, Class<T> type, Object tag) {
+        builder.tag(type, (T) tag);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Helpers for adapting Retrofit calls to futures and unwrapping {@link ApiResponse} envelopes.
+ */
+final class Calls {
+    
+    private Calls() {
+    }
+    
+    /**
+     * Enqueue a call and return a future that completes with the unwrapped response data.
+     * Cancelling the future cancels the underlying call.
+     *
+     * @param call the call to enqueue
+     * @param <T>  the type of the response data
+     * @return a future completing with the response data
+     */
+    static <T> CompletableFuture<T> enqueue(Call<ApiResponse<T>> call) {
+        return enqueue(call, Calls::unwrap);
+    }
+    
+    /**
+     * Enqueue a call to an {@link com.degomon.listmonk.service.Unwrapped} method and return a
+     * future that completes with the decoded response data.
+     * Cancelling the future cancels the underlying call.
+     *
+     * @param call the call to enqueue
+     * @param <T>  the type of the response data
+     * @return a future completing with the response data
+     */
+    static <T> CompletableFuture<T> enqueueUnwrapped(Call<T> call) {
+        return enqueue(call, response -> {
+            if (!response.isSuccessful()) {
+                throw error(response);
+            }
+            return response.body();
+        });
+    }
+    
+    private static <R, T> CompletableFuture<T> enqueue(Call<R> call, Function<Response<R>, T> unwrapper) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(Call<R> call, Response<R> response) {
+                try {
+                    future.complete(unwrapper.apply(response));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+            
+            @Override
+            public void onFailure(Call<R> call, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Wait for a future, rethrowing its failure unwrapped. An {@link IOException} is rethrown as
+     * an {@link UncheckedIOException}, so that iterators can surface it.
+     *
+     * @param future the future to wait for
+     * @param <T>    the type of the result
+     * @return the result
+     * @throws UncheckedIOException if the future failed with an IOException
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Execute a call synchronously and return the unwrapped response data.
+     *
+     * @param call the call to execute
+     * @param <T>  the type of the response data
+     * @return the response data
+     * @throws IOException if the request could not be executed
+     */
+    static <T> T execute(Call<ApiResponse<T>> call) throws IOException {
+        return unwrap(call.execute());
+    }
+    
+    /**
+     * Unwrap the data of a response, failing on a non-successful status.
+     *
+     * @param response the response to unwrap
+     * @param <T>      the type of the response data
+     * @return the response data, or null if the body is empty
+     * @throws ListmonkException if the response is not successful
+     */
+    static <T> T unwrap(Response<ApiResponse<T>> response) {
+        if (!response.isSuccessful()) {
+            throw error(response);
+        }
+        ApiResponse<T> body = response.body();
+        return body != null ? body.getData() : null;
+    }
+    
+    /**
+     * Build a {@link ListmonkException} describing a non-successful response.
+     *
+     * @param response the non-successful response
+     * @return the exception
+     */
+    static ListmonkException error(Response<?> response) {
+        String errorBody = null;
+        try (ResponseBody body = response.errorBody()) {
+            if (body != null) {
+                errorBody = body.string();
+            }
+        } catch (IOException e) {
+            // Keep the status code even if the error body cannot be read
+        }
+        return new ListmonkException(response.code(),
+                "Listmonk API request failed with HTTP " + response.code(), errorBody);
+    }
+}
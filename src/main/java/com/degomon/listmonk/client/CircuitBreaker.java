@@ -0,0 +1,148 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for a single service method, backed by a count-based sliding window.
+ * The outcomes of the most recent calls are kept in a ring buffer together with running
+ * failure and slow-call counts, so recording a call and evaluating the rates is constant time.
+ */
+final class CircuitBreaker {
+    
+    /**
+     * Decision for a call arriving at the breaker.
+     */
+    enum Permit {
+        /**
+         * The circuit is closed; proceed and record the outcome.
+         */
+        ALLOW,
+        /**
+         * The open duration has elapsed; probe the server before proceeding.
+         */
+        PROBE,
+        /**
+         * The circuit is open; fail immediately.
+         */
+        REJECT
+    }
+    
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+    
+    private final CircuitBreakerConfig config;
+    private final LongSupplier nanoClock;
+    private final byte[] outcomes;
+    private int next = 0;
+    private int count = 0;
+    private int failures = 0;
+    private int slowCalls = 0;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    
+    CircuitBreaker(CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[config.getSlidingWindowSize()];
+    }
+    
+    /**
+     * Decide whether a call may proceed. Only one caller receives {@link Permit#PROBE} per
+     * open period; it must report the probe outcome through {@link #onProbe(boolean)}.
+     *
+     * @return the decision for the call
+     */
+    synchronized Permit acquire() {
+        switch (state) {
+            case CLOSED:
+                return Permit.ALLOW;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt >= config.getOpenDuration().toNanos()) {
+                    state = CircuitState.HALF_OPEN;
+                    return Permit.PROBE;
+                }
+                return Permit.REJECT;
+            default:
+                return Permit.REJECT;
+        }
+    }
+    
+    /**
+     * Close the circuit if the probe succeeded, or open it for another period if it failed.
+     *
+     * @param healthy whether the server answered the probe
+     */
+    synchronized void onProbe(boolean healthy) {
+        if (healthy) {
+            state = CircuitState.CLOSED;
+        } else {
+            open();
+        }
+    }
+    
+    /**
+     * Record the outcome of a call made while the circuit was closed.
+     *
+     * @param failed whether the call failed
+     * @param slow   whether the call took longer than the slow-call duration
+     */
+    synchronized void record(boolean failed, boolean slow) {
+        if (state != CircuitState.CLOSED) {
+            // A call admitted before the circuit opened; its outcome is no longer relevant
+            return;
+        }
+        if (count == outcomes.length) {
+            byte evicted = outcomes[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            count++;
+        }
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if (failed) {
+            failures++;
+        }
+        if (slow) {
+            slowCalls++;
+        }
+        
+        if (count >= config.getMinimumCalls()
+                && (failures >= config.getFailureRateThreshold() * count
+                || slowCalls >= config.getSlowCallRateThreshold() * count)) {
+            open();
+        }
+    }
+    
+    synchronized CircuitState state() {
+        return state;
+    }
+    
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = nanoClock.getAsLong();
+        next = 0;
+        count = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration for the per-method circuit breakers.
+ * Each service method keeps a sliding window of its most recent calls. When enough calls have
+ * been recorded and either the failure rate or the slow-call rate reaches its threshold, the
+ * circuit opens and further calls fail immediately with a {@link CircuitOpenException}. After the
+ * open duration the health endpoint is probed, and the circuit closes again if it answers.
+ */
+public class CircuitBreakerConfig {
+    
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDuration;
+    private final Duration openDuration;
+    
+    private CircuitBreakerConfig(Builder builder) {
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.slidingWindowSize);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.openDuration = builder.openDuration;
+    }
+    
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+    
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+    
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+    
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+    
+    /**
+     * Create a new builder for CircuitBreakerConfig.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder for creating CircuitBreakerConfig instances.
+     */
+    public static class Builder {
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 0.8;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private Duration openDuration = Duration.ofSeconds(30);
+        
+        private Builder() {
+        }
+        
+        /**
+         * Set the number of most recent calls the failure and slow-call rates are computed over.
+         *
+         * @param slidingWindowSize the number of calls in the window
+         * @return this Builder
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            if (slidingWindowSize < 1) {
+                throw new IllegalArgumentException("Sliding window size must be at least 1");
+            }
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+        
+        /**
+         * Set the number of calls that must be recorded before the circuit can open.
+         *
+         * @param minimumCalls the minimum number of calls
+         * @return this Builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("Minimum calls must be at least 1");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+        
+        /**
+         * Set the fraction of failed calls that opens the circuit.
+         * Connection errors and 5xx responses count as failures.
+         *
+         * @param failureRateThreshold the failure rate between 0 (exclusive) and 1
+         * @return this Builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = checkRate(failureRateThreshold, "Failure rate threshold");
+            return this;
+        }
+        
+        /**
+         * Set the fraction of slow calls that opens the circuit.
+         *
+         * @param slowCallRateThreshold the slow-call rate between 0 (exclusive) and 1
+         * @return this Builder
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = checkRate(slowCallRateThreshold, "Slow call rate threshold");
+            return this;
+        }
+        
+        /**
+         * Set the duration above which a call counts as slow, measured until the response headers arrive.
+         *
+         * @param slowCallDuration the slow-call duration
+         * @return this Builder
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = Objects.requireNonNull(slowCallDuration, "Slow call duration cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set how long the circuit stays open before the health endpoint is probed.
+         *
+         * @param openDuration the open duration
+         * @return this Builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration, "Open duration cannot be null");
+            return this;
+        }
+        
+        private static double checkRate(double rate, String name) {
+            if (rate <= 0 || rate > 1) {
+                throw new IllegalArgumentException(name + " must be greater than 0 and at most 1");
+            }
+            return rate;
+        }
+        
+        /**
+         * Build the CircuitBreakerConfig instance.
+         *
+         * @return a CircuitBreakerConfig
+         */
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(this);
+        }
+    }
+}
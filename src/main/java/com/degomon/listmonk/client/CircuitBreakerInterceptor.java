@@ -0,0 +1,119 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.service.HealthService;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Interceptor guarding each service method with its own {@link CircuitBreaker}.
+ * Health checks are never blocked, since the health endpoint is what probes an open circuit.
+ * The probe runs on the thread of the first call after the open duration; if it succeeds the
+ * circuit closes and that call proceeds.
+ */
+final class CircuitBreakerInterceptor implements Interceptor {
+    
+    private final CircuitBreakerConfig config;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private volatile BooleanSupplier probe = () -> true;
+    
+    CircuitBreakerInterceptor(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * Set the check used to probe the server while a circuit is half-open.
+     *
+     * @param probe returns true if the server is healthy
+     */
+    void probe(BooleanSupplier probe) {
+        this.probe = probe;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null || invocation.method().getDeclaringClass() == HealthService.class) {
+            return chain.proceed(request);
+        }
+        String name = name(invocation.method());
+        CircuitBreaker breaker = breakers.computeIfAbsent(name, key -> new CircuitBreaker(config, System::nanoTime));
+        switch (breaker.acquire()) {
+            case REJECT:
+                throw new CircuitOpenException(name);
+            case PROBE:
+                // A probe that throws counts as unhealthy, so the circuit never stays half-open
+                boolean healthy = false;
+                try {
+                    healthy = probe.getAsBoolean();
+                } finally {
+                    breaker.onProbe(healthy);
+                }
+                if (!healthy) {
+                    throw new CircuitOpenException(name);
+                }
+                break;
+            default:
+                break;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            breaker.record(response.code() >= 500, isSlow(start));
+            return response;
+        } catch (IOException e) {
+            // A cancelled call says nothing about the health of the server
+            if (!chain.call().isCanceled()) {
+                breaker.record(true, isSlow(start));
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Get the state of every circuit that has seen a call.
+     *
+     * @return circuit states keyed by {@code Service.method}
+     */
+    Map<String, CircuitState> states() {
+        Map<String, CircuitState> states = new TreeMap<>();
+        breakers.forEach((name, breaker) -> states.put(name, breaker.state()));
+        return states;
+    }
+    
+    private boolean isSlow(long start) {
+        return System.nanoTime() - start >= config.getSlowCallDuration().toNanos();
+    }
+    
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
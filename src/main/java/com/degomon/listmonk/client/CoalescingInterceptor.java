@@ -0,0 +1,149 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import retrofit2.http.Streaming;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Interceptor letting concurrent identical GET requests share a single in-flight call.
+ * The first caller for a given URL and credentials performs the request; callers arriving
+ * while it is in flight wait for its buffered response and each receive their own copy.
+ * Streaming methods are never coalesced, since sharing them requires buffering the body.
+ * A waiter gives up after its own call or read timeout and honours its own cancellation; if the
+ * first caller's call is cancelled, the waiters perform the request themselves.
+ */
+final class CoalescingInterceptor implements Interceptor {
+    
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method()) || isStreaming(request)) {
+            return chain.proceed(request);
+        }
+        String key = request.url() + "\n" + request.header("Authorization");
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            BufferedResponse shared = await(chain, existing);
+            return shared != null ? shared.toResponse(request) : intercept(chain);
+        }
+        try {
+            BufferedResponse response = BufferedResponse.of(chain.proceed(request));
+            inFlight.remove(key, call);
+            call.complete(response);
+            return response.toResponse(request);
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(key, call);
+            fail(chain, call, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Release the waiters of a failed shared call. Waiters did not ask for the first caller's
+     * cancellation, so in that case they are completed with null to perform the request themselves.
+     *
+     * @param chain the chain of the caller that performed the call
+     * @param call  the shared call
+     * @param error the failure
+     */
+    static void fail(Chain chain, CompletableFuture<BufferedResponse> call, Exception error) {
+        if (chain.call().isCanceled()) {
+            call.complete(null);
+        } else {
+            call.completeExceptionally(error);
+        }
+    }
+    
+    /**
+     * Wait for a shared call within the waiting caller's own call or read timeout.
+     *
+     * @param chain the chain of the waiting caller
+     * @param call  the shared call
+     * @return the shared response, or null if the caller should perform the request itself
+     * @throws IOException the shared call's failure, or if the wait timed out or was cancelled
+     */
+    static BufferedResponse await(Chain chain, CompletableFuture<BufferedResponse> call) throws IOException {
+        long budgetNanos = waitBudgetNanos(chain);
+        long deadline = System.nanoTime() + budgetNanos;
+        while (true) {
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            long slice = WAIT_SLICE_NANOS;
+            if (budgetNanos > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SocketTimeoutException("timeout waiting for a shared request");
+                }
+                slice = Math.min(slice, remaining);
+            }
+            try {
+                return call.get(slice, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Check for cancellation and the deadline again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a shared request");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+    
+    // The shorter of the call timeout and the read timeout, or 0 if neither is set
+    static long waitBudgetNanos(Chain chain) {
+        long callTimeout = chain.call().timeout().timeoutNanos();
+        long readTimeout = TimeUnit.MILLISECONDS.toNanos(chain.readTimeoutMillis());
+        if (callTimeout > 0 && readTimeout > 0) {
+            return Math.min(callTimeout, readTimeout);
+        }
+        return Math.max(callTimeout, readTimeout);
+    }
+    
+    private static boolean isStreaming(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(Streaming.class);
+    }
+}
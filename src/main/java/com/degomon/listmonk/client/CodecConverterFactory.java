@@ -0,0 +1,233 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.codec.Codecs;
+import com.degomon.listmonk.codec.GeneratedCodecs;
+import com.degomon.listmonk.codec.JsonCodec;
+import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.Page;
+import com.degomon.listmonk.service.Unwrapped;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Converter factory binding the models that have a generated {@link JsonCodec} without data binding.
+ * It handles request bodies of those models and responses whose data is a model, a list of models
+ * or a page of models, whether wrapped in {@link ApiResponse} or {@link Unwrapped}. Other types
+ * are left to the next converter factory. Parsers and generators come from the client's
+ * {@code ObjectMapper}, so values of untyped fields that are not plain JSON are still written by it.
+ */
+final class CodecConverterFactory extends Converter.Factory {
+    
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+    
+    private final JsonFactory jsonFactory;
+    
+    CodecConverterFactory(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+    
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Unwrapped) {
+                DataReader<?> reader = dataReader(type);
+                return reader != null ? new UnwrappedConverter<>(reader) : null;
+            }
+        }
+        if (type instanceof ParameterizedType envelope && envelope.getRawType() == ApiResponse.class) {
+            DataReader<?> reader = dataReader(envelope.getActualTypeArguments()[0]);
+            return reader != null ? new EnvelopeConverter<>(reader) : null;
+        }
+        return null;
+    }
+    
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        JsonCodec<?> codec = type instanceof Class<?> model ? GeneratedCodecs.get(model) : null;
+        return codec != null ? new RequestConverter<>(codec) : null;
+    }
+    
+    /**
+     * Get the model class whose generated codec converts a response type.
+     *
+     * @param type      the response body type of a service method
+     * @param unwrapped whether the method is annotated with {@link Unwrapped}
+     * @return the model class, or null if the type is left to data binding
+     */
+    static Class<?> responseModel(Type type, boolean unwrapped) {
+        if (!unwrapped) {
+            if (!(type instanceof ParameterizedType envelope) || envelope.getRawType() != ApiResponse.class) {
+                return null;
+            }
+            type = envelope.getActualTypeArguments()[0];
+        }
+        if (type instanceof ParameterizedType parameterized
+                && (parameterized.getRawType() == List.class || parameterized.getRawType() == Page.class)) {
+            type = parameterized.getActualTypeArguments()[0];
+        }
+        return requestModel(type);
+    }
+    
+    /**
+     * Get the model class whose generated codec converts a request body type.
+     *
+     * @param type the parameter type of a service method
+     * @return the model class, or null if the type is left to data binding
+     */
+    static Class<?> requestModel(Type type) {
+        return type instanceof Class<?> model && GeneratedCodecs.types().contains(model) ? model : null;
+    }
+    
+    /**
+     * Read and write an empty instance of a model through the converters, so that its codec and
+     * the envelope parsing are loaded before the first request.
+     *
+     * @param model the model class, which must have a generated codec
+     * @param <T>   the model type
+     * @throws IOException if the codec fails
+     */
+    <T> void warmUp(Class<T> model) throws IOException {
+        JsonCodec<T> codec = GeneratedCodecs.get(model);
+        ApiResponse<T> response = new EnvelopeConverter<T>(codec::read)
+                .convert(ResponseBody.create("{\"data\": {}}", JSON));
+        new RequestConverter<>(codec).convert(response.getData());
+    }
+    
+    private static DataReader<?> dataReader(Type type) {
+        if (type instanceof Class<?> model) {
+            JsonCodec<?> codec = GeneratedCodecs.get(model);
+            return codec != null ? codec::read : null;
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> model) {
+            JsonCodec<?> codec = GeneratedCodecs.get(model);
+            if (codec == null) {
+                return null;
+            }
+            if (parameterized.getRawType() == List.class) {
+                return parser -> Codecs.readList(parser, codec);
+            }
+            if (parameterized.getRawType() == Page.class) {
+                return parser -> readPage(parser, codec);
+            }
+        }
+        return null;
+    }
+    
+    private static <T> Page<T> readPage(JsonParser parser, JsonCodec<T> codec) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        Codecs.expectObject(parser, Page.class);
+        Page<T> page = new Page<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "results":
+                    page.setResults(Codecs.readList(parser, codec));
+                    break;
+                case "total":
+                    page.setTotal(Codecs.readLong(parser));
+                    break;
+                case "page":
+                    page.setPage(Codecs.readInteger(parser));
+                    break;
+                case "per_page":
+                    page.setPerPage(Codecs.readInteger(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return page;
+    }
+    
+    @FunctionalInterface
+    private interface DataReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+    
+    private final class EnvelopeConverter<T> implements Converter<ResponseBody, ApiResponse<T>> {
+        private final DataReader<T> reader;
+        
+        EnvelopeConverter(DataReader<T> reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public ApiResponse<T> convert(ResponseBody body) throws IOException {
+            try (body; JsonParser parser = jsonFactory.createParser(body.byteStream())) {
+                JsonToken token = Envelopes.seekData(parser);
+                return new ApiResponse<>(token != null ? reader.read(parser) : null);
+            }
+        }
+    }
+    
+    private final class UnwrappedConverter<T> implements Converter<ResponseBody, T> {
+        private final DataReader<T> reader;
+        
+        UnwrappedConverter(DataReader<T> reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public T convert(ResponseBody body) throws IOException {
+            try (body; JsonParser parser = jsonFactory.createParser(body.byteStream())) {
+                JsonToken token = Envelopes.seekData(parser);
+                return token != null ? reader.read(parser) : null;
+            }
+        }
+    }
+    
+    private final class RequestConverter<T> implements Converter<T, RequestBody> {
+        private final JsonCodec<T> codec;
+        
+        RequestConverter(JsonCodec<T> codec) {
+            this.codec = codec;
+        }
+        
+        @Override
+        public RequestBody convert(T value) throws IOException {
+            Buffer buffer = new Buffer();
+            try (JsonGenerator generator = jsonFactory.createGenerator(buffer.outputStream(), JsonEncoding.UTF8)) {
+                codec.write(generator, value);
+            }
+            return RequestBody.create(buffer.readByteString(), JSON);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Helpers for navigating the Listmonk response envelope with a streaming parser.
+ */
+final class Envelopes {
+    
+    static final String DATA = "data";
+    
+    private Envelopes() {
+    }
+    
+    /**
+     * Advance a fresh parser to the value of the top-level {@code data} field.
+     *
+     * @param parser a parser positioned before the first token
+     * @return the first token of the data value, or null if the response has no data field
+     * @throws IOException if the response is not a JSON object or cannot be parsed
+     */
+    static JsonToken seekData(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object in response");
+        }
+        return seekField(parser, DATA) ? parser.nextToken() : null;
+    }
+    
+    /**
+     * Skip fields of the current object until the given field name is reached.
+     *
+     * @param parser a parser positioned inside an object
+     * @param name   the field name to look for
+     * @return true if the parser is positioned on the field name, false if the object ended
+     * @throws IOException if the response cannot be parsed
+     */
+    static boolean seekField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.getCurrentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-windowed set of 64-bit key fingerprints.
+ * Fingerprints are stored in two open-addressing {@code long[]} tables, one for the current
+ * generation and one for the previous. When the current generation is older than the window, or
+ * holds its maximum number of keys, the previous table is dropped and a new, small table becomes
+ * the current one. A key is therefore remembered for at least the window, unless more than the
+ * maximum number of keys arrive within it, and for at most twice the window.
+ * <p>
+ * A table starts at {@value #INITIAL_CAPACITY} slots and doubles as keys arrive, so memory follows
+ * the keys actually stored. Tables stay at most half full and each slot costs eight bytes, so a
+ * key takes 16 to 32 bytes: 1,000,000 keys per window need at most 32 MiB for both generations,
+ * and the {@value #MAX_KEYS} key cap bounds the set at 128 MiB.
+ */
+final class FingerprintSet {
+    
+    static final int MAX_KEYS = 1 << 22;
+    
+    static final int INITIAL_CAPACITY = 16;
+    
+    private static final long EMPTY = 0L;
+    
+    // Stands in for a previous generation that holds no keys; never written to
+    private static final long[] NO_KEYS = new long[1];
+    
+    private final long windowNanos;
+    private final int maxKeys;
+    private final int maxCapacity;
+    private final LongSupplier nanoClock;
+    private long[] current;
+    private long[] previous = NO_KEYS;
+    private int currentSize = 0;
+    private long generationStart;
+    
+    FingerprintSet(long windowNanos, int maxKeys, LongSupplier nanoClock) {
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        if (maxKeys < 1 || maxKeys > MAX_KEYS) {
+            throw new IllegalArgumentException("Max keys must be between 1 and " + MAX_KEYS);
+        }
+        this.windowNanos = windowNanos;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        // Keep the load factor at or below one half so probe sequences stay short
+        this.maxCapacity = Integer.highestOneBit(Math.max(maxKeys, 2) - 1) << 2;
+        this.current = newTable();
+        this.generationStart = nanoClock.getAsLong();
+    }
+    
+    /**
+     * Compute the 64-bit fingerprint of a key.
+     *
+     * @param key the key
+     * @return the fingerprint, never zero
+     */
+    static long fingerprint(String key) {
+        // FNV-1a over the UTF-8 bytes followed by a MurmurHash3 finalizer to spread the bits
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1 : hash;
+    }
+    
+    /**
+     * Check whether a fingerprint was added within the window.
+     *
+     * @param fingerprint the fingerprint
+     * @return true if the fingerprint is present
+     */
+    synchronized boolean contains(long fingerprint) {
+        rotateIfExpired();
+        return contains(current, fingerprint) || contains(previous, fingerprint);
+    }
+    
+    /**
+     * Add a fingerprint to the current generation.
+     *
+     * @param fingerprint the fingerprint
+     */
+    synchronized void add(long fingerprint) {
+        rotateIfExpired();
+        if (contains(current, fingerprint)) {
+            return;
+        }
+        if (currentSize >= maxKeys) {
+            rotate();
+        }
+        if (2 * (currentSize + 1) > current.length) {
+            long[] grown = new long[current.length * 2];
+            for (long value : current) {
+                if (value != EMPTY) {
+                    insert(grown, value);
+                }
+            }
+            current = grown;
+        }
+        insert(current, fingerprint);
+        currentSize++;
+    }
+    
+    /**
+     * Get the number of slots in the current generation's table.
+     *
+     * @return the table capacity
+     */
+    synchronized int capacity() {
+        return current.length;
+    }
+    
+    private static void insert(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = fingerprint;
+    }
+    
+    private static boolean contains(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (true) {
+            long value = table[slot];
+            if (value == fingerprint) {
+                return true;
+            }
+            if (value == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private long[] newTable() {
+        return new long[Math.min(INITIAL_CAPACITY, maxCapacity)];
+    }
+    
+    private void rotateIfExpired() {
+        long elapsed = nanoClock.getAsLong() - generationStart;
+        if (elapsed >= 2 * windowNanos) {
+            // Both generations are older than the window
+            previous = NO_KEYS;
+            current = newTable();
+            currentSize = 0;
+            generationStart = nanoClock.getAsLong();
+        } else if (elapsed >= windowNanos) {
+            rotate();
+        }
+    }
+    
+    // Drop the retiring generation rather than clearing it, so rotation costs no more than a small allocation
+    private void rotate() {
+        previous = current;
+        current = newTable();
+        currentSize = 0;
+        generationStart = nanoClock.getAsLong();
+    }
+}
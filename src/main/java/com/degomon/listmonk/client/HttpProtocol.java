@@ -0,0 +1,40 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+/**
+ * HTTP protocol used to talk to the Listmonk server.
+ */
+public enum HttpProtocol {
+    /**
+     * HTTP/1.1 only. Concurrent requests each need their own connection.
+     */
+    HTTP_1_1,
+    /**
+     * HTTP/2 negotiated through TLS ALPN, falling back to HTTP/1.1 for servers or cleartext
+     * URLs that do not support it. This is OkHttp's default negotiation, not a separate mode;
+     * selecting it only sizes the dispatcher for multiplexed connections.
+     */
+    HTTP_2,
+    /**
+     * Cleartext HTTP/2 with prior knowledge (h2c), for proxies and sidecars that speak HTTP/2
+     * without TLS. Only valid with {@code http://} base URLs.
+     */
+    H2C
+}
@@ -0,0 +1,112 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interceptor short-circuiting repeated transactional sends that carry the same idempotency key.
+ * After a message with a given {@link TransactionalMessage#getIdempotencyKey() key} has been sent
+ * successfully, repeats within the window receive a local success response without reaching the
+ * network. Repeats arriving while the first send is still in flight wait for and share its result.
+ */
+final class IdempotencyInterceptor implements Interceptor {
+    
+    static final String DEDUPLICATED_HEADER = "X-Listmonk-Deduplicated";
+    
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final byte[] SENT_BODY = "{\"data\":true}".getBytes(StandardCharsets.UTF_8);
+    
+    private final FingerprintSet sent;
+    private final ConcurrentHashMap<Long, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    
+    IdempotencyInterceptor(Duration window, int maxKeys) {
+        this.sent = new FingerprintSet(window.toNanos(), maxKeys, System::nanoTime);
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String key = idempotencyKey(request);
+        if (key == null) {
+            return chain.proceed(request);
+        }
+        long fingerprint = FingerprintSet.fingerprint(key);
+        if (sent.contains(fingerprint)) {
+            return deduplicated(request);
+        }
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(fingerprint, call);
+        if (existing != null) {
+            BufferedResponse shared = CoalescingInterceptor.await(chain, existing);
+            return shared != null ? shared.toResponse(request) : intercept(chain);
+        }
+        try {
+            BufferedResponse response = BufferedResponse.of(chain.proceed(request));
+            // Record the key before releasing waiters so later repeats hit the set
+            if (response.isSuccessful()) {
+                sent.add(fingerprint);
+            }
+            inFlight.remove(fingerprint, call);
+            call.complete(response);
+            return response.toResponse(request);
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(fingerprint, call);
+            CoalescingInterceptor.fail(chain, call, e);
+            throw e;
+        }
+    }
+    
+    private static String idempotencyKey(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null || !"POST".equals(request.method())) {
+            return null;
+        }
+        for (Object argument : invocation.arguments()) {
+            if (argument instanceof TransactionalMessage) {
+                return ((TransactionalMessage) argument).getIdempotencyKey();
+            }
+        }
+        return null;
+    }
+    
+    private static Response deduplicated(Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header(DEDUPLICATED_HEADER, "true")
+                .body(ResponseBody.create(SENT_BODY, JSON))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Page;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator that walks a result set by key instead of by page number.
+ * Every request asks for the first page of items whose ID is greater than the last ID seen,
+ * so each request costs the server the same no matter how deep the scan is.
+ * While the caller consumes one batch, the next batch is already being fetched.
+ *
+ * @param <T> the type of the items
+ */
+public class KeysetIterator<T> implements Iterator<T>, AutoCloseable {
+    
+    /**
+     * Fetches the batch of items following a key asynchronously.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    interface BatchFetcher<T> {
+        CompletableFuture<Page<T>> fetch(long afterId, int perPage);
+    }
+    
+    private final BatchFetcher<T> fetcher;
+    private final ToLongFunction<T> idOf;
+    private final int perPage;
+    private CompletableFuture<Page<T>> inFlight;
+    private Iterator<T> current = Collections.emptyIterator();
+    private long lastId;
+    private boolean lastBatchSeen = false;
+    private boolean closed = false;
+    
+    KeysetIterator(BatchFetcher<T> fetcher, ToLongFunction<T> idOf, int perPage) {
+        if (perPage < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        this.fetcher = fetcher;
+        this.idOf = idOf;
+        this.perPage = perPage;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed || lastBatchSeen) {
+                return false;
+            }
+            if (inFlight == null) {
+                inFlight = fetcher.fetch(lastId, perPage);
+            }
+            Page<T> page;
+            try {
+                page = Calls.join(inFlight);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            inFlight = null;
+            List<T> results = page != null && page.getResults() != null
+                    ? page.getResults()
+                    : Collections.emptyList();
+            if (results.size() < perPage) {
+                lastBatchSeen = true;
+            } else {
+                lastId = idOf.applyAsLong(results.get(results.size() - 1));
+                inFlight = fetcher.fetch(lastId, perPage);
+            }
+            current = results.iterator();
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Get a sequential stream over the remaining items.
+     * Closing the stream cancels the batch being fetched.
+     *
+     * @return a stream of the remaining items
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+    
+    /**
+     * Stop iterating and cancel the batch being fetched.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        current = Collections.emptyIterator();
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+/**
+ * Algorithm used by the adaptive concurrency limiter to adjust the number of requests in flight.
+ */
+public enum LimitAlgorithm {
+    /**
+     * Additive increase, multiplicative decrease: grow by one while calls succeed within the
+     * latency timeout, and shrink by the backoff ratio on errors or timeouts.
+     */
+    AIMD,
+    /**
+     * TCP Vegas: estimate the queue building up at the server from the ratio of the minimum
+     * observed round-trip time to the current one, and keep it between two small bounds.
+     */
+    VEGAS,
+    /**
+     * Gradient: scale the limit by the ratio of a long-term average round-trip time to the
+     * current one, so rising latency shrinks the limit before errors appear.
+     */
+    GRADIENT
+}
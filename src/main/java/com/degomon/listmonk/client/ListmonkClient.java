@@ -18,24 +18,49 @@
 
 package com.degomon.listmonk.client;
 
+import com.degomon.listmonk.model.ApiResponse;
 import com.degomon.listmonk.service.CampaignService;
 import com.degomon.listmonk.service.HealthService;
 import com.degomon.listmonk.service.ListService;
 import com.degomon.listmonk.service.SubscriberService;
+import com.degomon.listmonk.service.TrafficClass;
 import com.degomon.listmonk.service.TransactionalService;
+import com.degomon.listmonk.service.Unwrapped;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import okhttp3.Call;
 import okhttp3.Credentials;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Main client for interacting with the Listmonk API.
@@ -44,21 +69,92 @@ import java.util.Objects;
 public class ListmonkClient {
     
     private final Retrofit retrofit;
-    private final SubscriberService subscriberService;
-    private final ListService listService;
-    private final CampaignService campaignService;
-    private final HealthService healthService;
-    private final TransactionalService transactionalService;
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheInterceptor responseCache;
+    private final CircuitBreakerInterceptor circuitBreakers;
+    private final AdaptiveLimiter adaptiveLimiter;
+    private final TrafficLanes trafficLanes;
+    private static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+    private static final List<Class<?>> SERVICES = List.of(SubscriberService.class, ListService.class,
+            CampaignService.class, HealthService.class, TransactionalService.class);
+    
+    private final ConcurrentHashMap<Class<?>, Object> components = new ConcurrentHashMap<>();
+    private final ListmonkClient root;
+    private final Call.Factory callFactory;
+    private final CallOverrides callOverrides;
     
     private ListmonkClient(Builder builder) {
-        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+        // Derive from the shared transport's client, if any, to reuse its dispatcher and connection pool
+        if (builder.transport != null && (builder.virtualThreads || builder.maxRequests != null
+                || builder.maxRequestsPerHost != null || builder.maxConcurrentStreams != null
+                || !builder.trafficLanes.isEmpty() || !builder.trafficClasses.isEmpty())) {
+            throw new IllegalArgumentException(
+                    "Dispatcher and traffic lane options must be set on the shared transport");
+        }
+        // Each lane has its own dispatcher, so client-wide dispatcher limits would have no effect
+        boolean lanes = !builder.trafficLanes.isEmpty() || !builder.trafficClasses.isEmpty();
+        if (lanes && (builder.maxRequests != null || builder.maxRequestsPerHost != null
+                || builder.maxConcurrentStreams != null || builder.adaptiveLimitConfig != null)) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits must be set per lane with trafficLane when traffic lanes are used");
+        }
+        OkHttpClient.Builder httpClientBuilder = (builder.transport != null
+                ? builder.transport.httpClient().newBuilder()
+                : new OkHttpClient.Builder())
                 .connectTimeout(builder.connectTimeout)
                 .readTimeout(builder.readTimeout)
                 .writeTimeout(builder.writeTimeout);
         
-        // Add Basic Authentication if credentials are provided
+        // Select the HTTP protocol if one is requested
+        boolean multiplexed = builder.httpProtocol == HttpProtocol.HTTP_2 || builder.httpProtocol == HttpProtocol.H2C;
+        if (builder.httpProtocol == HttpProtocol.HTTP_1_1) {
+            httpClientBuilder.protocols(List.of(Protocol.HTTP_1_1));
+        } else if (builder.httpProtocol == HttpProtocol.H2C) {
+            if (builder.baseUrl.startsWith("https:")) {
+                throw new IllegalArgumentException("h2c prior knowledge requires an http:// base URL");
+            }
+            httpClientBuilder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        }
+        
+        // Configure the dispatcher if concurrency limits or virtual threads are requested;
+        // with traffic lanes every request runs on a lane's own dispatcher, so the base one is left unused
+        if (builder.transport == null && !lanes && (builder.virtualThreads || builder.maxRequests != null
+                || builder.maxRequestsPerHost != null || builder.adaptiveLimitConfig != null || multiplexed)) {
+            Dispatcher dispatcher = builder.virtualThreads
+                    ? new Dispatcher(VirtualThreads.newExecutor("listmonk-dispatcher"))
+                    : new Dispatcher();
+            // Let the adaptive limit, rather than the dispatcher's defaults, cap concurrency
+            if (builder.adaptiveLimitConfig != null) {
+                int maxLimit = builder.adaptiveLimitConfig.getMaxLimit();
+                dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), maxLimit));
+                dispatcher.setMaxRequestsPerHost(maxLimit);
+            }
+            // With HTTP/2 requests to the host share connections, so allow a stream's worth of them at once
+            if (multiplexed) {
+                int streams = builder.maxConcurrentStreams != null
+                        ? builder.maxConcurrentStreams
+                        : DEFAULT_MAX_CONCURRENT_STREAMS;
+                dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), streams));
+                dispatcher.setMaxRequestsPerHost(streams);
+            }
+            if (builder.maxRequests != null) {
+                dispatcher.setMaxRequests(builder.maxRequests);
+            }
+            if (builder.maxRequestsPerHost != null) {
+                dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+            }
+            httpClientBuilder.dispatcher(dispatcher);
+        }
+        
+        // Apply per-call overrides from client views
+        httpClientBuilder.addInterceptor(CallOverrides.INTERCEPTOR);
+        
+        // Add Basic Authentication if credentials are provided and a view has not set its own
         if (builder.username != null && builder.password != null) {
             Interceptor authInterceptor = chain -> {
+                if (chain.request().header("Authorization") != null) {
+                    return chain.proceed(chain.request());
+                }
                 String credentials = Credentials.basic(builder.username, builder.password);
                 return chain.proceed(
                         chain.request().newBuilder()
@@ -69,6 +165,46 @@ public class ListmonkClient {
             httpClientBuilder.addInterceptor(authInterceptor);
         }
         
+        // Short-circuit repeated transactional sends if an idempotency window is configured
+        if (builder.idempotencyWindow != null) {
+            httpClientBuilder.addInterceptor(
+                    new IdempotencyInterceptor(builder.idempotencyWindow, builder.idempotencyMaxKeys));
+        }
+        
+        // Add the by-ID lookup cache if configured
+        if (builder.cacheConfig != null) {
+            this.responseCache = new ResponseCacheInterceptor(builder.cacheConfig);
+            httpClientBuilder.addInterceptor(responseCache);
+        } else {
+            this.responseCache = null;
+        }
+        
+        // Share in-flight identical GET requests if enabled
+        if (builder.coalesceRequests) {
+            httpClientBuilder.addInterceptor(new CoalescingInterceptor());
+        }
+        
+        // Fail fast on degraded endpoints if circuit breakers are configured
+        if (builder.circuitBreakerConfig != null) {
+            this.circuitBreakers = new CircuitBreakerInterceptor(builder.circuitBreakerConfig);
+            httpClientBuilder.addInterceptor(circuitBreakers);
+        } else {
+            this.circuitBreakers = null;
+        }
+        
+        // Retry connection errors and retryable statuses if a policy is configured
+        if (builder.retryPolicy != null) {
+            httpClientBuilder.addInterceptor(new RetryInterceptor(builder.retryPolicy));
+        }
+        
+        // Adapt the number of requests in flight to the observed latency if configured
+        if (builder.adaptiveLimitConfig != null) {
+            this.adaptiveLimiter = new AdaptiveLimiter(builder.adaptiveLimitConfig);
+            httpClientBuilder.addInterceptor(new AdaptiveLimitInterceptor(adaptiveLimiter));
+        } else {
+            this.adaptiveLimiter = null;
+        }
+        
         // Add logging if enabled
         if (builder.loggingEnabled) {
             HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
@@ -78,25 +214,123 @@ public class ListmonkClient {
         
         OkHttpClient httpClient = httpClientBuilder.build();
         
-        // Configure Jackson ObjectMapper
-        ObjectMapper objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        // Route requests into separate lanes per traffic class if configured
+        Call.Factory callFactory = httpClient;
+        if (lanes) {
+            this.trafficLanes = new TrafficLanes(httpClient, builder.trafficLanes,
+                    new HashMap<>(builder.trafficClasses), builder.virtualThreads);
+            callFactory = trafficLanes;
+        } else {
+            this.trafficLanes = null;
+        }
+        
+        // Pace requests through the rate limiters if any are configured
+        if (!builder.serviceRateLimits.isEmpty() || !builder.methodRateLimits.isEmpty()) {
+            callFactory = new RateLimitingCallFactory(callFactory, new HashMap<>(builder.serviceRateLimits),
+                    new HashMap<>(builder.methodRateLimits), builder.rateLimitMaxWait.toNanos());
+        }
+        
+        this.callFactory = callFactory;
+        
+        // Configure Jackson ObjectMapper, sharing the transport's so its serializer caches are reused
+        if (builder.transport != null) {
+            this.objectMapper = builder.transport.objectMapper();
+        } else {
+            this.objectMapper = new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                    .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        }
         
         // Build Retrofit instance
         this.retrofit = new Retrofit.Builder()
                 .baseUrl(builder.baseUrl)
-                .client(httpClient)
+                .callFactory(callFactory)
+                .addConverterFactory(new CodecConverterFactory(objectMapper.getFactory()))
+                .addConverterFactory(new UnwrappingConverterFactory(objectMapper))
                 .addConverterFactory(JacksonConverterFactory.create(objectMapper))
                 .build();
         
-        // Initialize services
-        this.subscriberService = retrofit.create(SubscriberService.class);
-        this.listService = retrofit.create(ListService.class);
-        this.campaignService = retrofit.create(CampaignService.class);
-        this.healthService = retrofit.create(HealthService.class);
-        this.transactionalService = retrofit.create(TransactionalService.class);
+        this.root = this;
+        this.callOverrides = CallOverrides.NONE;
+        if (circuitBreakers != null) {
+            circuitBreakers.probe(this::isHealthy);
+        }
+        
+        // Initialize services now unless they should be created on first use
+        if (!builder.lazyServices) {
+            subscribers();
+            lists();
+            campaigns();
+            health();
+            transactional();
+            pager();
+            subscriberStreamer();
+        }
+    }
+    
+    private ListmonkClient(ListmonkClient parent, CallOverrides callOverrides) {
+        // Tag the requests of the view's own services, so the overrides travel with each request
+        this.callFactory = parent.root.callFactory;
+        this.retrofit = parent.root.retrofit.newBuilder()
+                .callFactory(callOverrides.callFactory(callFactory))
+                .build();
+        this.objectMapper = parent.objectMapper;
+        this.responseCache = parent.responseCache;
+        this.circuitBreakers = parent.circuitBreakers;
+        this.adaptiveLimiter = parent.adaptiveLimiter;
+        this.trafficLanes = parent.trafficLanes;
+        this.root = parent.root;
+        this.callOverrides = callOverrides;
+    }
+    
+    /**
+     * Create a view of this client whose calls use a different read timeout.
+     * The view shares this client's HTTP client, converters and JSON mapper and creates its own
+     * service proxies on first use, so it is cheap to create per call site, for example a short
+     * timeout for transactional sends and a long one for exports. The overrides are attached to
+     * each request of the view, and never to calls made elsewhere on the same thread.
+     *
+     * @param readTimeout the read timeout for calls made through the view
+     * @return the client view
+     */
+    public ListmonkClient withReadTimeout(Duration readTimeout) {
+        Objects.requireNonNull(readTimeout, "Read timeout cannot be null");
+        if (readTimeout.isNegative()) {
+            throw new IllegalArgumentException("Read timeout cannot be negative");
+        }
+        return new ListmonkClient(this, callOverrides.withReadTimeout(readTimeout));
+    }
+    
+    /**
+     * Create a view of this client whose calls authenticate with different credentials.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the client view
+     * @see #withReadTimeout(Duration)
+     */
+    public ListmonkClient withAuth(String username, String password) {
+        Objects.requireNonNull(username, "Username cannot be null");
+        Objects.requireNonNull(password, "Password cannot be null");
+        return new ListmonkClient(this, callOverrides.withAuthorization(Credentials.basic(username, password)));
+    }
+    
+    /**
+     * Create a view of this client whose requests carry a tag, readable by interceptors with
+     * {@link okhttp3.Request#tag(Class)}. A {@link TrafficClass} tag moves the view's requests
+     * to that traffic lane.
+     *
+     * @param type the type the tag is stored under
+     * @param tag  the tag
+     * @param <T>  the tag type
+     * @return the client view
+     * @see #withReadTimeout(Duration)
+     */
+    public <T> ListmonkClient withTag(Class<? super T> type, T tag) {
+        Objects.requireNonNull(type, "Tag type cannot be null");
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        return new ListmonkClient(this, callOverrides.withTag(type, tag));
     }
     
     /**
@@ -105,7 +339,7 @@ public class ListmonkClient {
      * @return SubscriberService instance
      */
     public SubscriberService subscribers() {
-        return subscriberService;
+        return service(SubscriberService.class);
     }
     
     /**
@@ -114,7 +348,7 @@ public class ListmonkClient {
      * @return ListService instance
      */
     public ListService lists() {
-        return listService;
+        return service(ListService.class);
     }
     
     /**
@@ -123,7 +357,7 @@ public class ListmonkClient {
      * @return CampaignService instance
      */
     public CampaignService campaigns() {
-        return campaignService;
+        return service(CampaignService.class);
     }
     
     /**
@@ -132,7 +366,7 @@ public class ListmonkClient {
      * @return HealthService instance
      */
     public HealthService health() {
-        return healthService;
+        return service(HealthService.class);
     }
     
     /**
@@ -141,7 +375,188 @@ public class ListmonkClient {
      * @return TransactionalService instance
      */
     public TransactionalService transactional() {
-        return transactionalService;
+        return service(TransactionalService.class);
+    }
+    
+    /**
+     * Get the asynchronous view of this client.
+     * Its services return {@link java.util.concurrent.CompletableFuture}s completed with the
+     * unwrapped response data instead of blocking the calling thread.
+     *
+     * @return AsyncListmonkClient instance
+     */
+    public AsyncListmonkClient async() {
+        return component(AsyncListmonkClient.class, () -> new AsyncListmonkClient(this));
+    }
+    
+    /**
+     * Get the pager for iterating over every page of the subscriber, list and campaign endpoints.
+     *
+     * @return Pager instance
+     */
+    public Pager pager() {
+        return component(Pager.class, () -> new Pager(async()));
+    }
+    
+    /**
+     * Get the streamer for decoding large subscriber pages incrementally.
+     *
+     * @return SubscriberStreamer instance
+     */
+    public SubscriberStreamer subscriberStreamer() {
+        return component(SubscriberStreamer.class, () -> new SubscriberStreamer(subscribers(), objectMapper));
+    }
+    
+    /**
+     * Get a snapshot of the by-ID lookup cache counters.
+     * All counters are zero if no cache is configured.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats cacheStats() {
+        return responseCache != null ? responseCache.stats() : CacheStats.EMPTY;
+    }
+    
+    /**
+     * Remove all entries from the by-ID lookup cache, if one is configured.
+     */
+    public void invalidateCache() {
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
+    }
+    
+    /**
+     * Get the state of each circuit breaker that has seen a call.
+     * The map is empty if no circuit breakers are configured.
+     *
+     * @return circuit states keyed by {@code Service.method}
+     */
+    public Map<String, CircuitState> circuitStates() {
+        return circuitBreakers != null ? circuitBreakers.states() : Collections.emptyMap();
+    }
+    
+    /**
+     * Get the current limit of the adaptive concurrency limiter.
+     *
+     * @return the number of requests currently allowed in flight, or 0 if no adaptive limit is configured
+     */
+    public int concurrencyLimit() {
+        return adaptiveLimiter != null ? adaptiveLimiter.limit() : 0;
+    }
+    
+    private boolean isHealthy() {
+        try {
+            Response<ApiResponse<Boolean>> response = health().getHealth().execute();
+            return response.isSuccessful() && response.body() != null && Boolean.TRUE.equals(response.body().getData());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Get the dispatcher of a traffic lane, for example to inspect its queue.
+     *
+     * @param trafficClass the lane
+     * @return the lane's dispatcher
+     * @throws IllegalStateException if no traffic lanes are configured
+     */
+    public Dispatcher dispatcher(TrafficClass trafficClass) {
+        if (trafficLanes == null) {
+            throw new IllegalStateException("Traffic lanes are not configured");
+        }
+        return trafficLanes.dispatcher(trafficClass);
+    }
+    
+    /**
+     * Prepare every service method so that the first request of each runs at steady-state speed.
+     * Retrofit parses the annotations of each method ahead of the first call instead of during it.
+     * Models with a generated codec are read and written once through it, and Jackson builds the
+     * serializers and deserializers of the remaining request and response types. Useful after
+     * {@link Builder#lazyServices(boolean)} or before serving traffic from a freshly started process.
+     */
+    public void warmUp() {
+        CodecConverterFactory codecs = new CodecConverterFactory(objectMapper.getFactory());
+        Set<Class<?>> codecModels = new HashSet<>();
+        for (Class<?> type : SERVICES) {
+            Object service = service(type);
+            for (Method method : type.getMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                // Creating a call loads the method and its converters without sending anything
+                Object[] args = new Object[method.getParameterCount()];
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int i = 0; i < args.length; i++) {
+                    if (parameterTypes[i].isPrimitive()) {
+                        args[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                    }
+                }
+                try {
+                    method.invoke(service, args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(
+                            "Could not prepare " + type.getSimpleName() + "." + method.getName(), e);
+                }
+                for (Type parameterType : method.getGenericParameterTypes()) {
+                    Class<?> model = CodecConverterFactory.requestModel(parameterType);
+                    if (model != null) {
+                        codecModels.add(model);
+                    } else {
+                        warmUp(parameterType);
+                    }
+                }
+                if (method.getGenericReturnType() instanceof ParameterizedType call) {
+                    Type body = call.getActualTypeArguments()[0];
+                    Class<?> model = CodecConverterFactory.responseModel(body,
+                            method.isAnnotationPresent(Unwrapped.class));
+                    if (model != null) {
+                        codecModels.add(model);
+                    } else {
+                        warmUp(body);
+                    }
+                }
+            }
+        }
+        for (Class<?> model : codecModels) {
+            try {
+                codecs.warmUp(model);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not prepare the codec of " + model.getSimpleName(), e);
+            }
+        }
+        pager();
+        subscriberStreamer();
+    }
+    
+    private void warmUp(Type type) {
+        JavaType javaType = objectMapper.constructType(type);
+        if (javaType.isPrimitive() || javaType.isTypeOrSubTypeOf(ResponseBody.class)) {
+            return;
+        }
+        objectMapper.readerFor(javaType);
+        objectMapper.writerFor(javaType);
+    }
+    
+    private <S> S service(Class<S> type) {
+        return component(type, () -> retrofit.create(type));
+    }
+    
+    // Racing first uses may both create a component; one is kept, and the services are stateless
+    private <T> T component(Class<T> type, Supplier<T> factory) {
+        Object component = components.get(type);
+        if (component == null) {
+            T created = factory.get();
+            component = components.putIfAbsent(type, created);
+            if (component == null) {
+                return created;
+            }
+        }
+        return type.cast(component);
+    }
+    
+    ObjectMapper objectMapper() {
+        return objectMapper;
     }
     
     /**
@@ -166,6 +581,25 @@ public class ListmonkClient {
         private Duration writeTimeout = Duration.ofSeconds(30);
         private boolean loggingEnabled = false;
         private HttpLoggingInterceptor.Level loggingLevel = HttpLoggingInterceptor.Level.BASIC;
+        private boolean virtualThreads = false;
+        private Integer maxRequests;
+        private Integer maxRequestsPerHost;
+        private CacheConfig cacheConfig;
+        private boolean coalesceRequests = false;
+        private Duration idempotencyWindow;
+        private int idempotencyMaxKeys;
+        private RetryPolicy retryPolicy;
+        private CircuitBreakerConfig circuitBreakerConfig;
+        private final Map<Class<?>, TokenBucket> serviceRateLimits = new HashMap<>();
+        private final Map<String, TokenBucket> methodRateLimits = new HashMap<>();
+        private Duration rateLimitMaxWait = Duration.ofNanos(Long.MAX_VALUE);
+        private AdaptiveLimitConfig adaptiveLimitConfig;
+        private final Map<TrafficClass, TrafficLanes.Lane> trafficLanes = new EnumMap<>(TrafficClass.class);
+        private final Map<Class<?>, TrafficClass> trafficClasses = new HashMap<>();
+        private HttpProtocol httpProtocol;
+        private Integer maxConcurrentStreams;
+        private ListmonkTransport transport;
+        private boolean lazyServices = false;
         
         private Builder(String baseUrl) {
             Objects.requireNonNull(baseUrl, "Base URL cannot be null");
@@ -241,6 +675,294 @@ public class ListmonkClient {
             return this;
         }
         
+        /**
+         * Run asynchronous calls and their callbacks on virtual threads.
+         * Requires Java 21 or later at runtime; older runtimes fall back to platform threads.
+         * Synchronous {@code execute()} calls always run on the calling thread, so issuing them
+         * from virtual threads is enough to make them cheap.
+         *
+         * @param enabled whether virtual threads are used by the dispatcher
+         * @return this Builder
+         */
+        public Builder virtualThreads(boolean enabled) {
+            this.virtualThreads = enabled;
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of asynchronous requests executing concurrently.
+         * Defaults to OkHttp's limit of 64. Cannot be combined with traffic lanes, which set their
+         * own limits with {@link #trafficLane(TrafficClass, int, int)}.
+         *
+         * @param maxRequests the maximum number of concurrent requests
+         * @return this Builder
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("Max requests must be at least 1");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of asynchronous requests executing concurrently against the Listmonk host.
+         * Defaults to OkHttp's limit of 5. Cannot be combined with traffic lanes.
+         *
+         * @param maxRequestsPerHost the maximum number of concurrent requests per host
+         * @return this Builder
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("Max requests per host must be at least 1");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+        
+        /**
+         * Select the HTTP protocol. By default OkHttp negotiates HTTP/2 over TLS when the server
+         * supports it and uses HTTP/1.1 otherwise. {@link HttpProtocol#HTTP_2} keeps that
+         * negotiation and only raises the per-host limit to {@link #maxConcurrentStreams(int)}.
+         *
+         * @param httpProtocol the protocol to use
+         * @return this Builder
+         */
+        public Builder httpProtocol(HttpProtocol httpProtocol) {
+            this.httpProtocol = Objects.requireNonNull(httpProtocol, "HTTP protocol cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set how many asynchronous requests may share the server's HTTP/2 connections at once when
+         * {@link HttpProtocol#HTTP_2} or {@link HttpProtocol#H2C} is selected. OkHttp takes the
+         * per-connection stream limit from the server's settings, so this sets the dispatcher's
+         * per-host limit, replacing the HTTP/1.1 default of 5. Defaults to 100.
+         * {@link #maxRequestsPerHost(int)} takes precedence if both are set. Cannot be combined
+         * with a shared transport or traffic lanes, which bring their own dispatchers.
+         *
+         * @param maxConcurrentStreams the maximum number of concurrent streams
+         * @return this Builder
+         */
+        public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+            if (maxConcurrentStreams < 1) {
+                throw new IllegalArgumentException("Max concurrent streams must be at least 1");
+            }
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+        
+        /**
+         * Enable the in-process cache for subscriber, list and campaign lookups by ID.
+         * Successful updates and deletes made through this client invalidate the matching entry.
+         *
+         * @param cacheConfig the cache configuration
+         * @return this Builder
+         */
+        public Builder cache(CacheConfig cacheConfig) {
+            this.cacheConfig = Objects.requireNonNull(cacheConfig, "Cache config cannot be null");
+            return this;
+        }
+        
+        /**
+         * Let concurrent identical GET requests share one in-flight HTTP call.
+         * Every caller still receives its own response; only the network request is shared.
+         *
+         * @param enabled whether identical concurrent GET requests are coalesced
+         * @return this Builder
+         */
+        public Builder coalesceRequests(boolean enabled) {
+            this.coalesceRequests = enabled;
+            return this;
+        }
+        
+        /**
+         * Deduplicate transactional messages by their idempotency key.
+         * Once a message with a key has been sent successfully, repeats within the window are
+         * answered locally with a success response and never reach the network. Keys are kept as
+         * 64-bit fingerprints in open-addressing {@code long[]} tables rather than as strings,
+         * which grow with the keys stored and take at most 32 bytes per key.
+         *
+         * @param window  how long a sent key is remembered
+         * @param maxKeys the number of keys remembered per window before older keys are forgotten early,
+         *                at most 4,194,304
+         * @return this Builder
+         */
+        public Builder idempotencyWindow(Duration window, int maxKeys) {
+            Objects.requireNonNull(window, "Idempotency window cannot be null");
+            if (window.isZero() || window.isNegative()) {
+                throw new IllegalArgumentException("Idempotency window must be positive");
+            }
+            if (maxKeys < 1 || maxKeys > FingerprintSet.MAX_KEYS) {
+                throw new IllegalArgumentException("Max keys must be between 1 and " + FingerprintSet.MAX_KEYS);
+            }
+            this.idempotencyWindow = window;
+            this.idempotencyMaxKeys = maxKeys;
+            return this;
+        }
+        
+        /**
+         * Retry failed requests with exponential backoff and jitter.
+         * Retries happen below the cache and request coalescing, so callers sharing a request
+         * also share its retries, and each attempt is logged separately.
+         *
+         * @param retryPolicy the retry policy
+         * @return this Builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy, "Retry policy cannot be null");
+            return this;
+        }
+        
+        /**
+         * Guard each service method with a circuit breaker.
+         * While a circuit is open, calls to that method fail immediately with a
+         * {@link CircuitOpenException} instead of waiting for the server. Retries happen inside
+         * the breaker, so a call that only succeeds after retrying counts once.
+         *
+         * @param circuitBreakerConfig the circuit breaker configuration
+         * @return this Builder
+         */
+        public Builder circuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+            this.circuitBreakerConfig = Objects.requireNonNull(circuitBreakerConfig,
+                    "Circuit breaker config cannot be null");
+            return this;
+        }
+        
+        /**
+         * Limit the rate of calls to a service interface, such as {@code SubscriberService.class}.
+         * A service limit takes precedence over a limit for the HTTP method of the call.
+         * Synchronous calls wait on the calling thread; asynchronous calls are dispatched once
+         * their permit is due without holding a thread while they wait.
+         *
+         * @param service          the service interface
+         * @param permitsPerSecond the sustained number of calls per second
+         * @param burst            the number of calls that may be made at once after a quiet period
+         * @return this Builder
+         */
+        public Builder rateLimit(Class<?> service, double permitsPerSecond, int burst) {
+            Objects.requireNonNull(service, "Service cannot be null");
+            this.serviceRateLimits.put(service, new TokenBucket(permitsPerSecond, burst, System::nanoTime));
+            return this;
+        }
+        
+        /**
+         * Limit the rate of calls using an HTTP method, such as {@code "POST"}.
+         *
+         * @param httpMethod       the HTTP method
+         * @param permitsPerSecond the sustained number of calls per second
+         * @param burst            the number of calls that may be made at once after a quiet period
+         * @return this Builder
+         * @see #rateLimit(Class, double, int)
+         */
+        public Builder rateLimit(String httpMethod, double permitsPerSecond, int burst) {
+            Objects.requireNonNull(httpMethod, "HTTP method cannot be null");
+            this.methodRateLimits.put(httpMethod.toUpperCase(Locale.ROOT),
+                    new TokenBucket(permitsPerSecond, burst, System::nanoTime));
+            return this;
+        }
+        
+        /**
+         * Set the longest a call waits for a rate limit permit. Calls that would wait longer fail
+         * with a {@link RateLimitExceededException}. By default calls wait as long as needed.
+         *
+         * @param maxWait the maximum wait
+         * @return this Builder
+         */
+        public Builder rateLimitMaxWait(Duration maxWait) {
+            this.rateLimitMaxWait = Objects.requireNonNull(maxWait, "Max wait cannot be null");
+            return this;
+        }
+        
+        /**
+         * Cap the number of requests in flight with a limit that adapts to the observed latency
+         * and errors. Requests over the limit wait until a slot frees up, for at most their call or
+         * read timeout, and stop waiting when cancelled. Unless {@link #maxRequestsPerHost(int)}
+         * is set, the dispatcher's per-host limit is raised to the adaptive maximum so that it does
+         * not cap asynchronous calls first. Cannot be combined with traffic lanes, whose
+         * dispatchers have fixed limits.
+         *
+         * @param adaptiveLimitConfig the adaptive limit configuration
+         * @return this Builder
+         */
+        public Builder adaptiveConcurrencyLimit(AdaptiveLimitConfig adaptiveLimitConfig) {
+            this.adaptiveLimitConfig = Objects.requireNonNull(adaptiveLimitConfig,
+                    "Adaptive limit config cannot be null");
+            return this;
+        }
+        
+        /**
+         * Give a traffic class its own dispatcher and connection pool.
+         * Configuring any lane, or any {@link #trafficClass(Class, TrafficClass) service mapping},
+         * splits the client into transactional, interactive and bulk lanes; lanes not configured
+         * here use defaults of 16, 32 and 8 requests. Requests are assigned to lanes by the
+         * {@link com.degomon.listmonk.service.Traffic} annotation on their service method or
+         * interface. While a transactional request is in flight, the bulk lane runs at most one
+         * asynchronous request so that bulk work cannot add latency to transactional sends.
+         * Synchronous bulk calls run on the caller's thread and are not held back.
+         * Lanes replace {@link #maxRequests(int)}, {@link #maxRequestsPerHost(int)} and
+         * {@link #adaptiveConcurrencyLimit(AdaptiveLimitConfig)}, which cannot be combined with them.
+         *
+         * @param trafficClass       the lane to configure
+         * @param maxRequests        the maximum number of asynchronous requests running in the lane
+         * @param maxIdleConnections the number of idle connections the lane keeps open
+         * @return this Builder
+         */
+        public Builder trafficLane(TrafficClass trafficClass, int maxRequests, int maxIdleConnections) {
+            Objects.requireNonNull(trafficClass, "Traffic class cannot be null");
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("Max requests must be at least 1");
+            }
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("Max idle connections cannot be negative");
+            }
+            this.trafficLanes.put(trafficClass, new TrafficLanes.Lane(maxRequests, maxIdleConnections));
+            return this;
+        }
+        
+        /**
+         * Assign every method of a service interface to a traffic lane, overriding its annotations.
+         *
+         * @param service      the service interface
+         * @param trafficClass the lane for its requests
+         * @return this Builder
+         * @see #trafficLane(TrafficClass, int, int)
+         */
+        public Builder trafficClass(Class<?> service, TrafficClass trafficClass) {
+            this.trafficClasses.put(Objects.requireNonNull(service, "Service cannot be null"),
+                    Objects.requireNonNull(trafficClass, "Traffic class cannot be null"));
+            return this;
+        }
+        
+        /**
+         * Build the client on a transport shared with other clients.
+         * The client derives its HTTP client from the transport's, keeping its own timeouts,
+         * authentication and interceptors while sharing the dispatcher, connection pool and JSON
+         * mapper. Dispatcher options and traffic lanes cannot be combined with a transport; the
+         * transport's limits apply to all of its clients together.
+         *
+         * @param transport the shared transport
+         * @return this Builder
+         */
+        public Builder transport(ListmonkTransport transport) {
+            this.transport = Objects.requireNonNull(transport, "Transport cannot be null");
+            return this;
+        }
+        
+        /**
+         * Create the service proxies, and the async client, pager and streamer built on them, the
+         * first time each is used instead of when the client is built. This shortens startup for
+         * short-lived processes that use only a few services; see {@link ListmonkClient#warmUp()}
+         * to move the remaining first-call cost out of the request path.
+         *
+         * @param enabled whether to create services lazily
+         * @return this Builder
+         */
+        public Builder lazyServices(boolean enabled) {
+            this.lazyServices = enabled;
+            return this;
+        }
+        
         /**
          * Build the ListmonkClient instance.
          *
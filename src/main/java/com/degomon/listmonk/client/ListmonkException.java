@@ -0,0 +1,53 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+/**
+ * Thrown when the Listmonk API answers a request with a non-successful HTTP status.
+ * Used to complete futures returned by the asynchronous client exceptionally.
+ */
+public class ListmonkException extends RuntimeException {
+    
+    private final int statusCode;
+    private final String errorBody;
+    
+    public ListmonkException(int statusCode, String message, String errorBody) {
+        super(message);
+        this.statusCode = statusCode;
+        this.errorBody = errorBody;
+    }
+    
+    /**
+     * Get the HTTP status code returned by the API.
+     *
+     * @return the HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * Get the raw error body returned by the API, if any.
+     *
+     * @return the error body, or null if none was returned
+     */
+    public String getErrorBody() {
+        return errorBody;
+    }
+}
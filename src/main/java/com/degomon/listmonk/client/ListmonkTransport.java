@@ -0,0 +1,308 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP transport shared by many {@link ListmonkClient} instances, for example one per tenant.
+ * Clients built with {@link ListmonkClient.Builder#transport(ListmonkTransport)} derive their
+ * HTTP client from this one with {@link OkHttpClient#newBuilder()}, so they share its dispatcher,
+ * connection pool and JSON mapper instead of creating their own. The limits set here apply to
+ * all of those clients together, and memory and thread use do not grow with the number of clients.
+ * <p>
+ * A request holds one of the {@link Builder#maxRequests(int) maxRequests} permits until its response
+ * body is fully read or closed. Callers that receive a raw {@code ResponseBody}, for example from a
+ * streaming method, must close it. A request that cannot get a permit within its call timeout, or
+ * its connect timeout if no call timeout is set, fails with an {@link InterruptedIOException}.
+ */
+public class ListmonkTransport implements AutoCloseable {
+    
+    private static final long PERMIT_WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exchanges;
+    
+    private ListmonkTransport(Builder builder) {
+        Dispatcher dispatcher = builder.virtualThreads
+                ? new Dispatcher(VirtualThreads.newExecutor("listmonk-transport"))
+                : new Dispatcher();
+        dispatcher.setMaxRequests(builder.maxRequests);
+        dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+        this.exchanges = new Semaphore(builder.maxRequests, true);
+        this.httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(builder.maxIdleConnections,
+                        builder.keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .addNetworkInterceptor(this::limitExchanges)
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    }
+    
+    /**
+     * Get the dispatcher that runs asynchronous calls for every client on this transport.
+     *
+     * @return the shared dispatcher
+     */
+    public Dispatcher dispatcher() {
+        return httpClient.dispatcher();
+    }
+    
+    /**
+     * Get the connection pool shared by every client on this transport.
+     *
+     * @return the shared connection pool
+     */
+    public ConnectionPool connectionPool() {
+        return httpClient.connectionPool();
+    }
+    
+    /**
+     * Get the number of exchanges that could start on the network right now without waiting.
+     *
+     * @return the number of free exchange permits
+     */
+    public int availableExchanges() {
+        return exchanges.availablePermits();
+    }
+    
+    OkHttpClient httpClient() {
+        return httpClient;
+    }
+    
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+    
+    /**
+     * Cancel queued calls, stop the dispatcher threads and close idle connections.
+     * Clients built on this transport cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        httpClient.dispatcher().cancelAll();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+    
+    // Hold a permit from sending the request until the response body is closed, so the number of
+    // connections carrying an exchange never exceeds the global limit
+    private Response limitExchanges(Interceptor.Chain chain) throws IOException {
+        acquireExchange(chain);
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exchanges.release();
+            }
+        };
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            release.run();
+            return response;
+        }
+        BufferedSource source = Okio.buffer(new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read == -1) {
+                    release.run();
+                }
+                return read;
+            }
+            
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    release.run();
+                }
+            }
+        });
+        return response.newBuilder()
+                .body(ResponseBody.create(source, body.contentType(), body.contentLength()))
+                .build();
+    }
+    
+    // Wait for a permit within the call timeout, or the connect timeout if the call has none,
+    // so a leaked response body cannot block other callers forever
+    private void acquireExchange(Interceptor.Chain chain) throws IOException {
+        long budgetNanos = chain.call().timeout().timeoutNanos();
+        if (budgetNanos == 0) {
+            budgetNanos = TimeUnit.MILLISECONDS.toNanos(chain.connectTimeoutMillis());
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        try {
+            while (true) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                long slice = PERMIT_WAIT_SLICE_NANOS;
+                if (budgetNanos > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new InterruptedIOException("Timed out waiting for a connection permit");
+                    }
+                    slice = Math.min(slice, remaining);
+                }
+                if (exchanges.tryAcquire(slice, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection permit");
+        }
+    }
+    
+    /**
+     * Create a new builder for ListmonkTransport.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder for creating ListmonkTransport instances.
+     */
+    public static class Builder {
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 5;
+        private int maxIdleConnections = 5;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private boolean virtualThreads = false;
+        
+        private Builder() {
+        }
+        
+        /**
+         * Set the maximum number of requests on the network at once across all clients.
+         * Synchronous and asynchronous calls both count, so this also caps the connections in
+         * use, and asynchronous calls never occupy more dispatcher threads than this. A permit is
+         * held until the response body is read to the end or closed.
+         *
+         * @param maxRequests the maximum number of requests in flight
+         * @return this Builder
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("Max requests must be at least 1");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of asynchronous requests running against a single host.
+         *
+         * @param maxRequestsPerHost the maximum number of requests per host
+         * @return this Builder
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("Max requests per host must be at least 1");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+        
+        /**
+         * Set the number of idle connections kept open across all hosts.
+         *
+         * @param maxIdleConnections the maximum number of idle connections
+         * @return this Builder
+         */
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("Max idle connections cannot be negative");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+        
+        /**
+         * Set how long an idle connection is kept before it is closed.
+         *
+         * @param keepAlive the keep-alive duration
+         * @return this Builder
+         */
+        public Builder keepAlive(Duration keepAlive) {
+            Objects.requireNonNull(keepAlive, "Keep-alive cannot be null");
+            if (keepAlive.isNegative() || keepAlive.isZero()) {
+                throw new IllegalArgumentException("Keep-alive must be positive");
+            }
+            this.keepAlive = keepAlive;
+            return this;
+        }
+        
+        /**
+         * Run asynchronous calls and their callbacks on virtual threads (Java 21+).
+         *
+         * @param enabled whether to use virtual threads
+         * @return this Builder
+         */
+        public Builder virtualThreads(boolean enabled) {
+            this.virtualThreads = enabled;
+            return this;
+        }
+        
+        /**
+         * Build the ListmonkTransport instance.
+         *
+         * @return a configured ListmonkTransport
+         */
+        public ListmonkTransport build() {
+            return new ListmonkTransport(this);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Page;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fetches every page of a paginated endpoint in parallel.
+ * The first page is fetched alone to learn the total; the remaining pages are then fetched
+ * with at most {@code concurrency} requests in flight. Pages are handed to the consumer one
+ * at a time in completion order, which is not necessarily page order. Once the result completes,
+ * by a failure or by being cancelled, the requests in flight are cancelled and no further page
+ * reaches the consumer.
+ *
+ * @param <T> the type of the items
+ */
+final class PageFanOut<T> {
+    
+    private final PagedIterator.PageFetcher<T> fetcher;
+    private final int perPage;
+    private final int concurrency;
+    private final Consumer<List<T>> consumer;
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private final AtomicInteger nextPage = new AtomicInteger(2);
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final Object deliveryLock = new Object();
+    private final Set<CompletableFuture<Page<T>>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile long lastPage;
+    
+    PageFanOut(PagedIterator.PageFetcher<T> fetcher, int perPage, int concurrency, Consumer<List<T>> consumer) {
+        if (perPage < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.fetcher = fetcher;
+        this.perPage = perPage;
+        this.concurrency = concurrency;
+        this.consumer = consumer;
+        result.whenComplete((count, error) -> inFlight.forEach(call -> call.cancel(true)));
+    }
+    
+    /**
+     * Start fetching.
+     *
+     * @return a future completing with the number of items delivered to the consumer
+     */
+    CompletableFuture<Long> start() {
+        fetch(1).whenComplete((page, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            List<T> results = results(page);
+            Long total = page != null ? page.getTotal() : null;
+            if (total == null && results.size() >= perPage) {
+                result.completeExceptionally(new IllegalStateException(
+                        "Cannot plan parallel fetch: the API response did not include a total"));
+                return;
+            }
+            if (!deliver(results)) {
+                return;
+            }
+            lastPage = total != null ? (total + perPage - 1) / perPage : 1;
+            long workers = Math.min(concurrency, lastPage - 1);
+            if (workers <= 0) {
+                result.complete(delivered.get());
+                return;
+            }
+            activeWorkers.set((int) workers);
+            for (int i = 0; i < workers; i++) {
+                fetchNext();
+            }
+        });
+        return result;
+    }
+    
+    private void fetchNext() {
+        int page = nextPage.getAndIncrement();
+        if (page > lastPage || result.isDone()) {
+            if (activeWorkers.decrementAndGet() == 0) {
+                result.complete(delivered.get());
+            }
+            return;
+        }
+        fetch(page).whenComplete((next, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (deliver(results(next))) {
+                fetchNext();
+            }
+        });
+    }
+    
+    // Track the request so it can be cancelled, re-checking the result in case it completed meanwhile
+    private CompletableFuture<Page<T>> fetch(int page) {
+        CompletableFuture<Page<T>> call = fetcher.fetch(page, perPage);
+        inFlight.add(call);
+        call.whenComplete((next, error) -> inFlight.remove(call));
+        if (result.isDone()) {
+            call.cancel(true);
+        }
+        return call;
+    }
+    
+    private boolean deliver(List<T> results) {
+        try {
+            synchronized (deliveryLock) {
+                if (result.isDone()) {
+                    return false;
+                }
+                consumer.accept(results);
+            }
+            delivered.addAndGet(results.size());
+            return true;
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return false;
+        }
+    }
+    
+    private List<T> results(Page<T> page) {
+        return page != null && page.getResults() != null ? page.getResults() : Collections.emptyList();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Page;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator that lazily walks every page of a paginated endpoint.
+ * While the caller consumes page N, up to {@code prefetch} following pages are already in flight,
+ * so at most {@code prefetch + 1} pages are held in memory at any time.
+ * Iteration stops once the total reported by the API is reached, or at the first page that
+ * returns fewer items than the page size. Once the total is known, no pages past the end are requested.
+ *
+ * @param <T> the type of the items
+ */
+public class PagedIterator<T> implements Iterator<T>, AutoCloseable {
+    
+    /**
+     * Fetches a single page asynchronously.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        CompletableFuture<Page<T>> fetch(int page, int perPage);
+    }
+    
+    private final PageFetcher<T> fetcher;
+    private final int perPage;
+    private final int prefetch;
+    private final Deque<CompletableFuture<Page<T>>> inFlight = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextPage = 1;
+    private long lastPage = Long.MAX_VALUE;
+    private boolean lastPageSeen = false;
+    private boolean closed = false;
+    
+    PagedIterator(PageFetcher<T> fetcher, int perPage, int prefetch) {
+        if (perPage < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Prefetch depth cannot be negative");
+        }
+        this.fetcher = fetcher;
+        this.perPage = perPage;
+        this.prefetch = prefetch;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            fill();
+            CompletableFuture<Page<T>> head = inFlight.poll();
+            if (head == null) {
+                return false;
+            }
+            Page<T> page;
+            try {
+                page = Calls.join(head);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            List<T> results = page != null ? page.getResults() : null;
+            if (page != null && page.getTotal() != null) {
+                lastPage = (page.getTotal() + perPage - 1) / perPage;
+            }
+            if (results == null || results.size() < perPage) {
+                lastPageSeen = true;
+                cancelInFlight();
+            }
+            current = results != null ? results.iterator() : Collections.emptyIterator();
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Get a sequential stream over the remaining items.
+     * Closing the stream cancels any prefetched pages.
+     *
+     * @return a stream of the remaining items
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+    
+    /**
+     * Stop iterating and cancel any prefetched pages.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        current = Collections.emptyIterator();
+        cancelInFlight();
+    }
+    
+    private void fill() {
+        while (!lastPageSeen && inFlight.size() <= prefetch && nextPage <= lastPage) {
+            inFlight.add(fetcher.fetch(nextPage++, perPage));
+        }
+    }
+    
+    private void cancelInFlight() {
+        CompletableFuture<Page<T>> future;
+        while ((future = inFlight.poll()) != null) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Subscriber;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Entry point for iterating over every page of the paginated endpoints.
+ * Obtain an instance from {@link ListmonkClient#pager()}.
+ */
+public class Pager {
+    
+    private static final int DEFAULT_PREFETCH = 1;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    // A unique sort key, so rows sharing a timestamp cannot shift between pages
+    private static final String ORDER_BY = "id";
+    private static final String ORDER = "asc";
+    
+    private final AsyncListmonkClient client;
+    private final int prefetch;
+    private final int concurrency;
+    
+    Pager(AsyncListmonkClient client) {
+        this(client, DEFAULT_PREFETCH, DEFAULT_CONCURRENCY);
+    }
+    
+    private Pager(AsyncListmonkClient client, int prefetch, int concurrency) {
+        this.client = client;
+        this.prefetch = prefetch;
+        this.concurrency = concurrency;
+    }
+    
+    /**
+     * Get a pager that keeps the given number of pages in flight ahead of the page being consumed.
+     * A depth of 0 fetches pages strictly one after another. Defaults to 1.
+     *
+     * @param prefetch the number of pages to prefetch
+     * @return a Pager with the given prefetch depth
+     */
+    public Pager prefetch(int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Prefetch depth cannot be negative");
+        }
+        return new Pager(client, prefetch, concurrency);
+    }
+    
+    /**
+     * Get a pager that runs the given number of page requests in parallel in the export methods.
+     * Defaults to 4.
+     *
+     * @param concurrency the maximum number of page requests in flight
+     * @return a Pager with the given concurrency
+     */
+    public Pager concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        return new Pager(client, prefetch, concurrency);
+    }
+    
+    /**
+     * Iterate over all subscribers, oldest first.
+     *
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param listId  filter by list ID
+     * @return an iterator over all matching subscribers
+     */
+    public PagedIterator<Subscriber> subscribers(int perPage, String query, Long listId) {
+        return new PagedIterator<>((page, size) -> client.subscribers()
+                .getSubscribersPage(page, size, ORDER_BY, ORDER, query, listId), perPage, prefetch);
+    }
+    
+    /**
+     * Fetch all subscribers in parallel pages.
+     * The total is read from the first page and the remaining pages are fetched concurrently.
+     * The consumer is called for one page at a time, in completion order rather than page order.
+     *
+     * @param perPage  number of items per page
+     * @param query    search query
+     * @param listId   filter by list ID
+     * @param consumer receives each page of subscribers
+     * @return a future completing with the number of subscribers delivered
+     */
+    public CompletableFuture<Long> exportSubscribers(int perPage, String query, Long listId,
+                                                     Consumer<List<Subscriber>> consumer) {
+        return new PageFanOut<>((page, size) -> client.subscribers()
+                .getSubscribersPage(page, size, ORDER_BY, ORDER, query, listId),
+                perPage, concurrency, consumer).start();
+    }
+    
+    /**
+     * Scan all subscribers in ascending ID order using keyset pagination.
+     * Instead of page numbers, each request filters on {@code subscribers.id > lastSeenId},
+     * so deep scans do not get slower as they progress. The next batch is fetched while the
+     * current one is consumed.
+     *
+     * @param perPage number of items per request
+     * @param query   additional search query, combined with the ID condition
+     * @param listId  filter by list ID
+     * @return an iterator over all matching subscribers
+     */
+    public KeysetIterator<Subscriber> scanSubscribers(int perPage, String query, Long listId) {
+        return new KeysetIterator<>((afterId, size) -> client.subscribers()
+                .getSubscribersPage(1, size, ORDER_BY, ORDER, keysetQuery(query, afterId), listId),
+                Subscriber::getId, perPage);
+    }
+    
+    /**
+     * Iterate over all mailing lists, oldest first.
+     *
+     * @param perPage number of items per page
+     * @param query   search query
+     * @return an iterator over all matching lists
+     */
+    public PagedIterator<MailingList> lists(int perPage, String query) {
+        return new PagedIterator<>((page, size) -> client.lists()
+                .getListsPage(page, size, query, ORDER_BY, ORDER), perPage, prefetch);
+    }
+    
+    /**
+     * Fetch all mailing lists in parallel pages.
+     * The consumer is called for one page at a time, in completion order rather than page order.
+     *
+     * @param perPage  number of items per page
+     * @param query    search query
+     * @param consumer receives each page of lists
+     * @return a future completing with the number of lists delivered
+     */
+    public CompletableFuture<Long> exportLists(int perPage, String query, Consumer<List<MailingList>> consumer) {
+        return new PageFanOut<>((page, size) -> client.lists()
+                .getListsPage(page, size, query, ORDER_BY, ORDER),
+                perPage, concurrency, consumer).start();
+    }
+    
+    /**
+     * Iterate over all campaigns, oldest first.
+     *
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param status  filter by status
+     * @return an iterator over all matching campaigns
+     */
+    public PagedIterator<Campaign> campaigns(int perPage, String query, String status) {
+        return new PagedIterator<>((page, size) -> client.campaigns()
+                .getCampaignsPage(page, size, query, status, ORDER_BY, ORDER), perPage, prefetch);
+    }
+    
+    /**
+     * Fetch all campaigns in parallel pages.
+     * The consumer is called for one page at a time, in completion order rather than page order.
+     *
+     * @param perPage  number of items per page
+     * @param query    search query
+     * @param status   filter by status
+     * @param consumer receives each page of campaigns
+     * @return a future completing with the number of campaigns delivered
+     */
+    public CompletableFuture<Long> exportCampaigns(int perPage, String query, String status,
+                                                   Consumer<List<Campaign>> consumer) {
+        return new PageFanOut<>((page, size) -> client.campaigns()
+                .getCampaignsPage(page, size, query, status, ORDER_BY, ORDER),
+                perPage, concurrency, consumer).start();
+    }
+    
+    private static String keysetQuery(String query, long afterId) {
+        String condition = "subscribers.id > " + afterId;
+        if (query == null || query.isBlank()) {
+            return condition;
+        }
+        return "(" + query + ") AND " + condition;
+    }
+}
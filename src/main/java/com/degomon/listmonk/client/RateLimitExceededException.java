@@ -0,0 +1,33 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a call would have to wait longer than the configured maximum for a rate limit permit.
+ * It is an {@link IOException} so that it surfaces the same way as a connection failure from
+ * both synchronous and asynchronous calls.
+ */
+public class RateLimitExceededException extends IOException {
+    
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Call factory pacing requests with per-service and per-HTTP-method token buckets.
+ * A limit set for the service interface of a call takes precedence over one set for its HTTP
+ * method. Synchronous calls wait on the calling thread; asynchronous calls are handed to the
+ * dispatcher only once their permit is due, so no thread is held while they wait.
+ */
+final class RateLimitingCallFactory implements Call.Factory {
+    
+    private final Call.Factory client;
+    private final Map<Class<?>, TokenBucket> serviceLimits;
+    private final Map<String, TokenBucket> methodLimits;
+    private final long maxWaitNanos;
+    
+    RateLimitingCallFactory(Call.Factory client, Map<Class<?>, TokenBucket> serviceLimits,
+                            Map<String, TokenBucket> methodLimits, long maxWaitNanos) {
+        this.client = client;
+        this.serviceLimits = serviceLimits;
+        this.methodLimits = methodLimits;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+    
+    @Override
+    public Call newCall(Request request) {
+        Call call = client.newCall(request);
+        TokenBucket bucket = bucketFor(request);
+        return bucket != null ? new RateLimitedCall(call, bucket) : call;
+    }
+    
+    private TokenBucket bucketFor(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            TokenBucket bucket = serviceLimits.get(invocation.method().getDeclaringClass());
+            if (bucket != null) {
+                return bucket;
+            }
+        }
+        return methodLimits.get(request.method());
+    }
+    
+    private final class RateLimitedCall implements Call {
+        private final Call delegate;
+        private final TokenBucket bucket;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        
+        RateLimitedCall(Call delegate, TokenBucket bucket) {
+            this.delegate = delegate;
+            this.bucket = bucket;
+        }
+        
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+        
+        @Override
+        public Response execute() throws IOException {
+            checkNotExecuted();
+            long wait = reserve();
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+            }
+            return delegate.execute();
+        }
+        
+        @Override
+        public void enqueue(Callback callback) {
+            checkNotExecuted();
+            long wait;
+            try {
+                wait = reserve();
+            } catch (RateLimitExceededException e) {
+                callback.onFailure(this, e);
+                return;
+            }
+            Callback forwarding = new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    callback.onResponse(RateLimitedCall.this, response);
+                }
+                
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    callback.onFailure(RateLimitedCall.this, e);
+                }
+            };
+            if (wait == 0) {
+                delegate.enqueue(forwarding);
+            } else {
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> delegate.enqueue(forwarding));
+            }
+        }
+        
+        @Override
+        public void cancel() {
+            delegate.cancel();
+        }
+        
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+        
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+        
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+        
+        @Override
+        public Call clone() {
+            return new RateLimitedCall(delegate.clone(), bucket);
+        }
+        
+        private void checkNotExecuted() {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already Executed");
+            }
+        }
+        
+        private long reserve() throws RateLimitExceededException {
+            long wait = bucket.reserve(maxWaitNanos);
+            if (wait < 0) {
+                throw new RateLimitExceededException("Rate limit for " + request().method() + " "
+                        + request().url().encodedPath() + " exceeded");
+            }
+            return wait;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Interceptor caching successful by-ID GET responses for subscribers, lists and campaigns.
+ * Entries expire after a per-entity TTL and are evicted in least-recently-used order once the
+ * entry or weight bound is exceeded. A successful non-GET request to an entity path, such as
+ * an update, delete or status change, invalidates the cached entry for that entity.
+ * Responses to lookups that raced with an invalidation are not stored.
+ */
+final class ResponseCacheInterceptor implements Interceptor {
+    
+    private static final String SUBSCRIBERS = "subscribers";
+    private static final String LISTS = "lists";
+    private static final String CAMPAIGNS = "campaigns";
+    
+    private final CacheConfig config;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long epoch;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    
+    ResponseCacheInterceptor(CacheConfig config) {
+        this.config = config;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String entity = entityKey(request);
+        if (entity == null) {
+            return chain.proceed(request);
+        }
+        if (!"GET".equals(request.method())) {
+            Response response = chain.proceed(request);
+            if (response.isSuccessful()) {
+                invalidate(entity);
+            }
+            return response;
+        }
+        String url = request.url().toString();
+        String auth = request.header("Authorization");
+        long startEpoch;
+        synchronized (this) {
+            BufferedResponse cached = lookup(entity, url, auth);
+            if (cached != null) {
+                return cached.toResponse(request);
+            }
+            startEpoch = epoch;
+        }
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful()) {
+            return response;
+        }
+        BufferedResponse buffered = BufferedResponse.of(response);
+        store(entity, new Entry(url, auth, buffered, System.nanoTime() + ttl(entity).toNanos()), startEpoch);
+        return buffered.toResponse(request);
+    }
+    
+    /**
+     * Get a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size(), weight);
+    }
+    
+    /**
+     * Remove all cached entries.
+     */
+    synchronized void invalidateAll() {
+        epoch++;
+        invalidations += entries.size();
+        entries.clear();
+        weight = 0;
+    }
+    
+    private BufferedResponse lookup(String entity, String url, String auth) {
+        Entry entry = entries.get(entity);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0
+                && entry.url.equals(url) && Objects.equals(entry.auth, auth)) {
+            hits++;
+            return entry.response;
+        }
+        if (entry != null) {
+            remove(entity);
+        }
+        misses++;
+        return null;
+    }
+    
+    private synchronized void store(String entity, Entry entry, long startEpoch) {
+        if (startEpoch != epoch || entry.response.weight() > config.getMaxWeightBytes()) {
+            return;
+        }
+        Entry previous = entries.put(entity, entry);
+        if (previous != null) {
+            weight -= previous.response.weight();
+        }
+        weight += entry.response.weight();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > config.getMaxEntries() || weight > config.getMaxWeightBytes()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            weight -= evicted.response.weight();
+            evictions++;
+        }
+    }
+    
+    private synchronized void invalidate(String entity) {
+        epoch++;
+        if (remove(entity)) {
+            invalidations++;
+        }
+    }
+    
+    private boolean remove(String entity) {
+        Entry removed = entries.remove(entity);
+        if (removed == null) {
+            return false;
+        }
+        weight -= removed.response.weight();
+        return true;
+    }
+    
+    private Duration ttl(String entity) {
+        if (entity.startsWith(SUBSCRIBERS)) {
+            return config.getSubscriberTtl();
+        }
+        if (entity.startsWith(LISTS)) {
+            return config.getListTtl();
+        }
+        return config.getCampaignTtl();
+    }
+    
+    /**
+     * Find the entity addressed by a request path, such as {@code subscribers/42}.
+     * GET requests must address the entity itself; other methods may address sub-resources,
+     * such as {@code campaigns/42/status}.
+     *
+     * @return the entity key, or null if the request does not address a cacheable entity
+     */
+    private static String entityKey(Request request) {
+        List<String> segments = request.url().pathSegments();
+        boolean get = "GET".equals(request.method());
+        int first = get ? segments.size() - 2 : 0;
+        for (int i = Math.max(first, 0); i + 1 < segments.size(); i++) {
+            String resource = segments.get(i);
+            if ((SUBSCRIBERS.equals(resource) || LISTS.equals(resource) || CAMPAIGNS.equals(resource))
+                    && isId(segments.get(i + 1))) {
+                return resource + "/" + segments.get(i + 1);
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isId(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static final class Entry {
+        private final String url;
+        private final String auth;
+        private final BufferedResponse response;
+        private final long expiresAt;
+        
+        Entry(String url, String auth, BufferedResponse response, long expiresAt) {
+            this.url = url;
+            this.auth = auth;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
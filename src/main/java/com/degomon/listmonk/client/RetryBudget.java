@@ -0,0 +1,76 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting retries to a fraction of regular requests.
+ * Every request deposits {@code ratio} tokens and the bucket refills at
+ * {@code minRetriesPerSecond}; a retry withdraws one whole token. The bucket holds at most
+ * ten seconds' worth of the minimum rate plus ten requests' worth of deposits, so a long quiet
+ * period cannot save up a retry storm.
+ */
+final class RetryBudget {
+    
+    private final double ratio;
+    private final double refillPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+    
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.refillPerNano = minRetriesPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1.0, 10.0 * minRetriesPerSecond + 10.0 * ratio);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+    
+    /**
+     * Record a request that was not a retry.
+     */
+    synchronized void deposit() {
+        refill();
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+    
+    /**
+     * Take a token for a retry if one is available.
+     *
+     * @return true if the retry may proceed
+     */
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+    
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
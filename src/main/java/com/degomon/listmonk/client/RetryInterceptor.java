@@ -0,0 +1,165 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor retrying requests according to a {@link RetryPolicy}.
+ * Delays use full jitter: each wait is drawn uniformly between zero and the current backoff
+ * ceiling, which grows by the multiplier after each retry up to the maximum backoff. A
+ * {@code Retry-After} header raises the wait to at least the requested delay.
+ * A retry is not attempted if its wait would outlast the call timeout, and a cancelled call
+ * stops waiting within 50ms.
+ */
+final class RetryInterceptor implements Interceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(RetryInterceptor.class);
+    
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    
+    RetryInterceptor(RetryPolicy policy) {
+        this.policy = policy;
+        this.budget = new RetryBudget(policy.getBudgetRatio(), policy.getMinRetriesPerSecond(), System::nanoTime);
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        budget.deposit();
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+        
+        long callTimeoutNanos = chain.call().timeout().timeoutNanos();
+        long deadline = System.nanoTime() + callTimeoutNanos;
+        long ceilingNanos = policy.getInitialBackoff().toNanos();
+        for (int retry = 0; ; retry++) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                long delayNanos = jitter(ceilingNanos);
+                if (retry >= policy.getMaxRetries() || chain.call().isCanceled()
+                        || exceedsDeadline(callTimeoutNanos, deadline, delayNanos) || !budget.tryWithdraw()) {
+                    throw e;
+                }
+                log.debug("Retrying {} {} after {}", request.method(), request.url(), e.toString());
+                sleep(chain, delayNanos);
+                ceilingNanos = nextCeiling(ceilingNanos);
+                continue;
+            }
+            
+            if (!policy.getRetryableStatuses().contains(response.code()) || retry >= policy.getMaxRetries()) {
+                return response;
+            }
+            long delayNanos = jitter(ceilingNanos);
+            Long retryAfterNanos = retryAfter(response);
+            if (retryAfterNanos != null) {
+                if (retryAfterNanos > policy.getMaxBackoff().toNanos()) {
+                    // The server asked for a longer pause than we are willing to wait
+                    return response;
+                }
+                delayNanos = Math.max(delayNanos, retryAfterNanos);
+            }
+            if (exceedsDeadline(callTimeoutNanos, deadline, delayNanos) || !budget.tryWithdraw()) {
+                return response;
+            }
+            log.debug("Retrying {} {} after HTTP {}", request.method(), request.url(), response.code());
+            response.close();
+            sleep(chain, delayNanos);
+            ceilingNanos = nextCeiling(ceilingNanos);
+        }
+    }
+    
+    private boolean isRetryable(Request request) {
+        return policy.getMaxRetries() > 0
+                && (IDEMPOTENT_METHODS.contains(request.method()) || policy.isRetryPost() && "POST".equals(request.method()));
+    }
+    
+    private long nextCeiling(long ceilingNanos) {
+        return (long) Math.min(policy.getMaxBackoff().toNanos(), ceilingNanos * policy.getMultiplier());
+    }
+    
+    private static long jitter(long ceilingNanos) {
+        return ceilingNanos > 0 ? ThreadLocalRandom.current().nextLong(ceilingNanos + 1) : 0;
+    }
+    
+    /**
+     * Parse the Retry-After header, given either in seconds or as an HTTP date.
+     */
+    private static Long retryAfter(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toNanos());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    private static boolean exceedsDeadline(long callTimeoutNanos, long deadline, long delayNanos) {
+        return callTimeoutNanos > 0 && deadline - System.nanoTime() <= delayNanos;
+    }
+    
+    // Sleep in slices so that a cancelled call, including one cancelled by its call timeout, stops waiting
+    private static void sleep(Chain chain, long nanos) throws InterruptedIOException {
+        long end = System.nanoTime() + nanos;
+        try {
+            for (long remaining = nanos; remaining > 0; remaining = end - System.nanoTime()) {
+                if (chain.call().isCanceled()) {
+                    throw new InterruptedIOException("Canceled");
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, WAIT_SLICE_NANOS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+        if (chain.call().isCanceled()) {
+            throw new InterruptedIOException("Canceled");
+        }
+    }
+}
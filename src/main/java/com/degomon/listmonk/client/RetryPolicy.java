@@ -0,0 +1,221 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Configuration for retrying failed requests.
+ * Requests that fail with a connection error or a retryable status (429, 502, 503 and 504 by
+ * default) are retried with exponential backoff and full jitter, waiting at least as long as a
+ * {@code Retry-After} header asks. Only idempotent methods are retried unless POST retries are
+ * enabled. A retry budget caps retries at a fraction of regular traffic, so that retries do not
+ * multiply the load on a server that is already failing.
+ * <p>
+ * 500 is not retried by default: Listmonk answers with 500 for many errors that repeat on every
+ * attempt, such as database constraint violations and template errors. Add it with
+ * {@link Builder#retryableStatuses(Set)} if your deployment's 500s are transient.
+ */
+public class RetryPolicy {
+    
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final Set<Integer> retryableStatuses;
+    private final boolean retryPost;
+    private final double budgetRatio;
+    private final int minRetriesPerSecond;
+    
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.multiplier = builder.multiplier;
+        this.retryableStatuses = builder.retryableStatuses;
+        this.retryPost = builder.retryPost;
+        this.budgetRatio = builder.budgetRatio;
+        this.minRetriesPerSecond = builder.minRetriesPerSecond;
+    }
+    
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+    
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    
+    public double getMultiplier() {
+        return multiplier;
+    }
+    
+    public Set<Integer> getRetryableStatuses() {
+        return retryableStatuses;
+    }
+    
+    public boolean isRetryPost() {
+        return retryPost;
+    }
+    
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+    
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+    
+    /**
+     * Create a new builder for RetryPolicy.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder for creating RetryPolicy instances.
+     */
+    public static class Builder {
+        private int maxRetries = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double multiplier = 2.0;
+        private Set<Integer> retryableStatuses = Set.of(429, 502, 503, 504);
+        private boolean retryPost = false;
+        private double budgetRatio = 0.1;
+        private int minRetriesPerSecond = 10;
+        
+        private Builder() {
+        }
+        
+        /**
+         * Set the maximum number of retries after the first attempt.
+         *
+         * @param maxRetries the maximum number of retries
+         * @return this Builder
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Max retries cannot be negative");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+        
+        /**
+         * Set the backoff ceiling before the first retry.
+         *
+         * @param initialBackoff the initial backoff
+         * @return this Builder
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = Objects.requireNonNull(initialBackoff, "Initial backoff cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the longest delay between attempts. A {@code Retry-After} longer than this is not
+         * waited for; the response is returned to the caller instead.
+         *
+         * @param maxBackoff the maximum backoff
+         * @return this Builder
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = Objects.requireNonNull(maxBackoff, "Max backoff cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the factor the backoff ceiling grows by after each retry.
+         *
+         * @param multiplier the backoff multiplier
+         * @return this Builder
+         */
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1.0) {
+                throw new IllegalArgumentException("Multiplier must be at least 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+        
+        /**
+         * Set the HTTP status codes that are retried.
+         *
+         * @param retryableStatuses the retryable status codes
+         * @return this Builder
+         */
+        public Builder retryableStatuses(Set<Integer> retryableStatuses) {
+            this.retryableStatuses = Set.copyOf(
+                    Objects.requireNonNull(retryableStatuses, "Retryable statuses cannot be null"));
+            return this;
+        }
+        
+        /**
+         * Also retry POST requests. Only enable this if repeated creates and sends are acceptable,
+         * for example when transactional messages carry idempotency keys.
+         *
+         * @param retryPost whether POST requests are retried
+         * @return this Builder
+         */
+        public Builder retryPost(boolean retryPost) {
+            this.retryPost = retryPost;
+            return this;
+        }
+        
+        /**
+         * Set the retry budget. Each request earns {@code ratio} retries, and on top of that
+         * {@code minRetriesPerSecond} retries are always allowed so that low traffic can still retry.
+         * Retries beyond the budget are not attempted.
+         *
+         * @param ratio               the number of retries earned per request
+         * @param minRetriesPerSecond the retries allowed per second regardless of traffic
+         * @return this Builder
+         */
+        public Builder retryBudget(double ratio, int minRetriesPerSecond) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Budget ratio cannot be negative");
+            }
+            if (minRetriesPerSecond < 0) {
+                throw new IllegalArgumentException("Min retries per second cannot be negative");
+            }
+            this.budgetRatio = ratio;
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+        
+        /**
+         * Build the RetryPolicy instance.
+         *
+         * @return a RetryPolicy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
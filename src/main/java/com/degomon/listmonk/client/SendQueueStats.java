@@ -0,0 +1,109 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the transactional send queue counters.
+ */
+public class SendQueueStats {
+    
+    private final int queueDepth;
+    private final int capacity;
+    private final int inFlight;
+    private final long submitted;
+    private final long sent;
+    private final long failed;
+    private final long dropped;
+    private final long uptimeNanos;
+    
+    SendQueueStats(int queueDepth, int capacity, int inFlight, long submitted, long sent, long failed,
+                   long dropped, long uptimeNanos) {
+        this.queueDepth = queueDepth;
+        this.capacity = capacity;
+        this.inFlight = inFlight;
+        this.submitted = submitted;
+        this.sent = sent;
+        this.failed = failed;
+        this.dropped = dropped;
+        this.uptimeNanos = uptimeNanos;
+    }
+    
+    /**
+     * Get the number of messages waiting for a worker.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Get the number of messages currently being sent by workers.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+    
+    public long getSubmitted() {
+        return submitted;
+    }
+    
+    public long getSent() {
+        return sent;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    /**
+     * Get the number of messages rejected because the queue was full.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped;
+    }
+    
+    /**
+     * Get the average number of messages processed per second since the queue was started.
+     *
+     * @return the throughput in messages per second
+     */
+    public double getThroughputPerSecond() {
+        if (uptimeNanos <= 0) {
+            return 0.0;
+        }
+        return (sent + failed) / (uptimeNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    @Override
+    public String toString() {
+        return "SendQueueStats{queueDepth=" + queueDepth + ", capacity=" + capacity + ", inFlight=" + inFlight
+                + ", submitted=" + submitted + ", sent=" + sent + ", failed=" + failed + ", dropped=" + dropped + "}";
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.service.AsyncSubscriberService;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Batches subscriber lookups by ID into single list queries.
+ * Calls to {@link #load(long)} made within a short window, or until the maximum batch size is
+ * reached, are combined into one {@code subscribers.id IN (...)} query, and each caller's
+ * future completes with its own subscriber. Concurrent loads of the same ID share a future.
+ * IDs that do not exist complete exceptionally with a 404 {@link ListmonkException}.
+ */
+public class SubscriberLoader implements AutoCloseable {
+    
+    private static final Object BATCH_KEY = new Object();
+    
+    private final AsyncSubscriberService service;
+    private final Batcher<Object, Long> batcher;
+    private final ConcurrentHashMap<Long, CompletableFuture<Subscriber>> waiting = new ConcurrentHashMap<>();
+    
+    private SubscriberLoader(Builder builder) {
+        this.service = builder.client.async().subscribers();
+        this.batcher = new Batcher<>("listmonk-subscriber-loader", builder.window, builder.maxBatchSize,
+                (key, ids) -> dispatch(ids));
+    }
+    
+    /**
+     * Load a subscriber by ID as part of the next batch.
+     *
+     * @param id subscriber ID
+     * @return future subscriber
+     */
+    public CompletableFuture<Subscriber> load(long id) {
+        CompletableFuture<Subscriber> future = new CompletableFuture<>();
+        CompletableFuture<Subscriber> existing = waiting.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            batcher.add(BATCH_KEY, id);
+        } catch (IllegalStateException e) {
+            waiting.remove(id, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Dispatch pending lookups immediately instead of waiting for the batch window.
+     */
+    public void flush() {
+        batcher.flushAll();
+    }
+    
+    /**
+     * Dispatch pending lookups and stop accepting new ones.
+     */
+    @Override
+    public void close() {
+        batcher.close();
+    }
+    
+    private void dispatch(List<Long> ids) {
+        Map<Long, CompletableFuture<Subscriber>> futures = new HashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<Subscriber> future = waiting.remove(id);
+            if (future != null) {
+                futures.put(id, future);
+            }
+        }
+        if (futures.isEmpty()) {
+            return;
+        }
+        String query = futures.keySet().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "subscribers.id IN (", ")"));
+        service.getSubscribersPage(1, futures.size(), null, null, query, null).whenComplete((page, error) -> {
+            if (error != null) {
+                futures.values().forEach(future -> future.completeExceptionally(error));
+                return;
+            }
+            if (page != null && page.getResults() != null) {
+                for (Subscriber subscriber : page.getResults()) {
+                    CompletableFuture<Subscriber> future = futures.remove(subscriber.getId());
+                    if (future != null) {
+                        future.complete(subscriber);
+                    }
+                }
+            }
+            futures.forEach((id, future) -> future.completeExceptionally(
+                    new ListmonkException(404, "Subscriber not found: " + id, null)));
+        });
+    }
+    
+    /**
+     * Create a new builder for SubscriberLoader.
+     *
+     * @param client the client used to issue the batched queries
+     * @return a new Builder instance
+     */
+    public static Builder builder(ListmonkClient client) {
+        return new Builder(client);
+    }
+    
+    /**
+     * Builder for creating SubscriberLoader instances.
+     */
+    public static class Builder {
+        private final ListmonkClient client;
+        private Duration window = Duration.ofMillis(5);
+        private int maxBatchSize = 100;
+        
+        private Builder(ListmonkClient client) {
+            this.client = Objects.requireNonNull(client, "Client cannot be null");
+        }
+        
+        /**
+         * Set how long lookups are collected before a batch is dispatched.
+         *
+         * @param window the batch window
+         * @return this Builder
+         */
+        public Builder window(Duration window) {
+            this.window = Objects.requireNonNull(window, "Window cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the number of lookups that dispatches a batch immediately.
+         *
+         * @param maxBatchSize the maximum batch size
+         * @return this Builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+        
+        /**
+         * Build the SubscriberLoader instance.
+         *
+         * @return a configured SubscriberLoader
+         */
+        public SubscriberLoader build() {
+            return new SubscriberLoader(this);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.codec.GeneratedCodecs;
+import com.degomon.listmonk.codec.JsonCodec;
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.service.SubscriberService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes subscriber pages token by token instead of materializing the whole page.
+ * Each subscriber is handed to the caller as soon as it has been parsed, so heap usage stays
+ * flat even for very large pages or {@code per_page=all}.
+ * Both the {@code data.results} envelope and a bare {@code data} array are understood.
+ */
+public class SubscriberStreamer {
+    
+    private static final String ALL = "all";
+    
+    private final SubscriberService service;
+    private final ObjectMapper objectMapper;
+    private final JsonCodec<Subscriber> subscriberCodec = GeneratedCodecs.get(Subscriber.class);
+    
+    SubscriberStreamer(SubscriberService service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Stream one page of subscribers to a callback.
+     *
+     * @param page     page number
+     * @param perPage  number of items per page
+     * @param query    search query
+     * @param listId   filter by list ID
+     * @param consumer receives each subscriber as soon as it is decoded
+     * @return the number of subscribers decoded
+     * @throws IOException if the request fails or the response cannot be parsed
+     */
+    public long forEach(int page, int perPage, String query, Long listId, Consumer<Subscriber> consumer)
+            throws IOException {
+        return forEach(page, String.valueOf(perPage), query, listId, consumer);
+    }
+    
+    /**
+     * Stream every subscriber to a callback using a single {@code per_page=all} request.
+     *
+     * @param query    search query
+     * @param listId   filter by list ID
+     * @param consumer receives each subscriber as soon as it is decoded
+     * @return the number of subscribers decoded
+     * @throws IOException if the request fails or the response cannot be parsed
+     */
+    public long forEachAll(String query, Long listId, Consumer<Subscriber> consumer) throws IOException {
+        return forEach(1, ALL, query, listId, consumer);
+    }
+    
+    /**
+     * Open a lazily decoded stream over one page of subscribers.
+     * The stream holds the HTTP connection open and must be closed.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param listId  filter by list ID
+     * @return a stream of subscribers
+     * @throws IOException if the request fails or the response envelope cannot be parsed
+     */
+    public Stream<Subscriber> stream(int page, int perPage, String query, Long listId) throws IOException {
+        return stream(page, String.valueOf(perPage), query, listId);
+    }
+    
+    /**
+     * Open a lazily decoded stream over every subscriber using a single {@code per_page=all} request.
+     * The stream holds the HTTP connection open and must be closed.
+     *
+     * @param query  search query
+     * @param listId filter by list ID
+     * @return a stream of subscribers
+     * @throws IOException if the request fails or the response envelope cannot be parsed
+     */
+    public Stream<Subscriber> streamAll(String query, Long listId) throws IOException {
+        return stream(1, ALL, query, listId);
+    }
+    
+    private long forEach(int page, String perPage, String query, Long listId, Consumer<Subscriber> consumer)
+            throws IOException {
+        long count = 0;
+        try (SubscriberIterator iterator = open(page, perPage, query, listId)) {
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+    
+    private Stream<Subscriber> stream(int page, String perPage, String query, Long listId) throws IOException {
+        SubscriberIterator iterator = open(page, perPage, query, listId);
+        Spliterator<Subscriber> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+    
+    private SubscriberIterator open(int page, String perPage, String query, Long listId) throws IOException {
+        Response<ResponseBody> response = service
+                .streamSubscribers(page, perPage, null, null, query, listId)
+                .execute();
+        if (!response.isSuccessful()) {
+            throw Calls.error(response);
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            throw new IOException("Empty response body");
+        }
+        JsonParser parser = objectMapper.getFactory().createParser(body.byteStream());
+        try {
+            boolean found = seekResults(parser);
+            return new SubscriberIterator(body, parser, found);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            body.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Advance the parser to the start of the subscriber array.
+     *
+     * @return true if an array was found, false if the response has no results
+     */
+    private static boolean seekResults(JsonParser parser) throws IOException {
+        JsonToken token = Envelopes.seekData(parser);
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token != JsonToken.START_OBJECT || !Envelopes.seekField(parser, "results")) {
+            return false;
+        }
+        return parser.nextToken() == JsonToken.START_ARRAY;
+    }
+    
+    private final class SubscriberIterator implements Iterator<Subscriber>, AutoCloseable {
+        private final ResponseBody body;
+        private final JsonParser parser;
+        private boolean done;
+        private Subscriber next;
+        
+        SubscriberIterator(ResponseBody body, JsonParser parser, boolean hasResults) {
+            this.body = body;
+            this.parser = parser;
+            this.done = !hasResults;
+            if (done) {
+                close();
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    close();
+                    return false;
+                }
+                next = subscriberCodec.read(parser);
+                return true;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public Subscriber next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Subscriber subscriber = next;
+            next = null;
+            return subscriber;
+        }
+        
+        @Override
+        public void close() {
+            done = true;
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // The response body is closed below regardless
+            }
+            body.close();
+        }
+    }
+}
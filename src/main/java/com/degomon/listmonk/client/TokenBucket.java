@@ -0,0 +1,72 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket implemented with the generic cell rate algorithm.
+ * Instead of a token count, the bucket keeps a single theoretical arrival time: the instant by
+ * which every permit handed out so far would have been earned at the configured rate. A permit is
+ * granted immediately while that instant lies less than {@code burst} intervals in the future;
+ * otherwise the caller is told how long to wait. Reserving is a single compare-and-set.
+ */
+final class TokenBucket {
+    
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong arrival;
+    
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.arrival = new AtomicLong(nanoClock.getAsLong());
+    }
+    
+    /**
+     * Reserve a permit if it becomes available within the maximum wait.
+     *
+     * @param maxWaitNanos the longest acceptable wait
+     * @return the time to wait before using the permit, or -1 if none is available in time
+     */
+    long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = Math.max(0, next - toleranceNanos - now);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return wait;
+            }
+        }
+    }
+}
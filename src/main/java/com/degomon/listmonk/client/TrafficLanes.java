@@ -0,0 +1,158 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.service.Traffic;
+import com.degomon.listmonk.service.TrafficClass;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call factory routing each request to the client of its {@link TrafficClass}.
+ * Every lane is derived from the same base client, so it shares the interceptors and timeouts,
+ * but has its own dispatcher and connection pool. While any transactional request is in
+ * flight, the bulk dispatcher is throttled to a single request so that queued bulk calls
+ * yield their slots, and the server's capacity, to the transactional lane. The dispatcher only
+ * runs asynchronous calls, so synchronous bulk calls are not preempted.
+ */
+final class TrafficLanes implements Call.Factory {
+    
+    /**
+     * Per-lane limits.
+     */
+    static final class Lane {
+        final int maxRequests;
+        final int maxIdleConnections;
+        
+        Lane(int maxRequests, int maxIdleConnections) {
+            this.maxRequests = maxRequests;
+            this.maxIdleConnections = maxIdleConnections;
+        }
+    }
+    
+    static final Map<TrafficClass, Lane> DEFAULT_LANES = Map.of(
+            TrafficClass.TRANSACTIONAL, new Lane(16, 4),
+            TrafficClass.INTERACTIVE, new Lane(32, 5),
+            TrafficClass.BULK, new Lane(8, 2));
+    
+    private final Map<TrafficClass, OkHttpClient> clients = new EnumMap<>(TrafficClass.class);
+    private final Map<Class<?>, TrafficClass> overrides;
+    private final Dispatcher bulkDispatcher;
+    private final int bulkMaxRequests;
+    private int transactionalInFlight = 0;
+    
+    TrafficLanes(OkHttpClient base, Map<TrafficClass, Lane> lanes, Map<Class<?>, TrafficClass> overrides,
+                 boolean virtualThreads) {
+        this.overrides = overrides;
+        Dispatcher bulk = null;
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            Lane lane = lanes.getOrDefault(trafficClass, DEFAULT_LANES.get(trafficClass));
+            String name = "listmonk-" + trafficClass.name().toLowerCase(Locale.ROOT);
+            Dispatcher dispatcher = virtualThreads ? new Dispatcher(VirtualThreads.newExecutor(name)) : new Dispatcher();
+            dispatcher.setMaxRequests(lane.maxRequests);
+            dispatcher.setMaxRequestsPerHost(lane.maxRequests);
+            OkHttpClient.Builder builder = base.newBuilder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(lane.maxIdleConnections, 5, TimeUnit.MINUTES));
+            if (trafficClass == TrafficClass.TRANSACTIONAL) {
+                builder.addInterceptor(new PreemptionInterceptor());
+            } else if (trafficClass == TrafficClass.BULK) {
+                bulk = dispatcher;
+            }
+            clients.put(trafficClass, builder.build());
+        }
+        this.bulkDispatcher = bulk;
+        this.bulkMaxRequests = bulkDispatcher.getMaxRequests();
+    }
+    
+    @Override
+    public Call newCall(Request request) {
+        return clients.get(classify(request)).newCall(request);
+    }
+    
+    /**
+     * Get the dispatcher of a lane.
+     *
+     * @param trafficClass the lane
+     * @return the lane's dispatcher
+     */
+    Dispatcher dispatcher(TrafficClass trafficClass) {
+        return clients.get(trafficClass).dispatcher();
+    }
+    
+    private TrafficClass classify(Request request) {
+        TrafficClass tagged = request.tag(TrafficClass.class);
+        if (tagged != null) {
+            return tagged;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return TrafficClass.INTERACTIVE;
+        }
+        Method method = invocation.method();
+        TrafficClass override = overrides.get(method.getDeclaringClass());
+        if (override != null) {
+            return override;
+        }
+        Traffic traffic = method.getAnnotation(Traffic.class);
+        if (traffic == null) {
+            traffic = method.getDeclaringClass().getAnnotation(Traffic.class);
+        }
+        return traffic != null ? traffic.value() : TrafficClass.INTERACTIVE;
+    }
+    
+    private synchronized void transactionalStarted() {
+        if (transactionalInFlight++ == 0) {
+            bulkDispatcher.setMaxRequests(1);
+            bulkDispatcher.setMaxRequestsPerHost(1);
+        }
+    }
+    
+    private synchronized void transactionalFinished() {
+        if (--transactionalInFlight == 0) {
+            bulkDispatcher.setMaxRequests(bulkMaxRequests);
+            bulkDispatcher.setMaxRequestsPerHost(bulkMaxRequests);
+        }
+    }
+    
+    private final class PreemptionInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            transactionalStarted();
+            try {
+                return chain.proceed(chain.request());
+            } finally {
+                transactionalFinished();
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.AsyncTransactionalService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
+
+/**
+ * Combines single-recipient transactional messages into multi-recipient sends.
+ * Messages passed to {@link #send(TransactionalMessage)} that share template, subject,
+ * from-address, headers, data, messenger and content type are grouped, and each group is sent
+ * as one message with {@code subscriber_emails} or {@code subscriber_ids} once the batch window
+ * elapses or the maximum batch size is reached.
+ * <p>
+ * Every caller receives its own future. The {@code /tx} endpoint reports a single result per
+ * request, so all futures of a batch complete with that result. If the server rejects a batch
+ * with a 4xx status other than 429 and the error can be tied to recipients, only those fail:
+ * recipients named in the error body fail and the rest are sent again as one batch, and an error
+ * about a subscriber that names none, such as Listmonk's "subscriber not found", has each
+ * recipient sent again on its own. Any other error, such as an unknown template, fails every
+ * future of the batch with the original error without further requests.
+ * <p>
+ * The data and headers of a message are copied when it is queued, so changing them afterwards
+ * does not affect the batch it joined.
+ * <p>
+ * Messages that already address several recipients, or none, are sent on their own without
+ * batching, and so are messages with an idempotency key, so that the key stays attached to
+ * exactly one send and the client's idempotency window can recognise it.
+ */
+public class TransactionalBatcher implements AutoCloseable {
+    
+    private static final Pattern SUBSCRIBER = Pattern.compile("\\bsubscriber", Pattern.CASE_INSENSITIVE);
+    
+    private final AsyncTransactionalService service;
+    private final Batcher<BatchKey, Recipient> batcher;
+    
+    private TransactionalBatcher(Builder builder) {
+        this.service = builder.client.async().transactional();
+        this.batcher = new Batcher<>("listmonk-tx-batcher", builder.window, builder.maxBatchSize, this::dispatch);
+    }
+    
+    /**
+     * Queue a transactional message for the next batch.
+     *
+     * @param message the transactional message addressed to a single subscriber
+     * @return future that completes with true once the batch containing the message was sent
+     */
+    public CompletableFuture<Boolean> send(TransactionalMessage message) {
+        Objects.requireNonNull(message, "Message cannot be null");
+        boolean byEmail = message.getSubscriberEmail() != null;
+        boolean byId = message.getSubscriberId() != null;
+        if (byEmail == byId || message.getSubscriberEmails() != null || message.getSubscriberIds() != null
+                || message.getIdempotencyKey() != null) {
+            return service.sendTransactionalMessage(message);
+        }
+        
+        Recipient recipient = new Recipient(byEmail ? message.getSubscriberEmail() : message.getSubscriberId());
+        try {
+            batcher.add(new BatchKey(message, byEmail), recipient);
+        } catch (IllegalStateException e) {
+            recipient.future.completeExceptionally(e);
+        }
+        return recipient.future;
+    }
+    
+    /**
+     * Send all pending batches immediately instead of waiting for the batch window.
+     */
+    public void flush() {
+        batcher.flushAll();
+    }
+    
+    /**
+     * Send all pending batches and stop accepting new messages.
+     */
+    @Override
+    public void close() {
+        batcher.close();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void dispatch(BatchKey key, List<Recipient> recipients) {
+        List<Object> addresses = new ArrayList<>(recipients.size());
+        for (Recipient recipient : recipients) {
+            addresses.add(recipient.address);
+        }
+        
+        TransactionalMessage.Builder builder = key.message();
+        if (key.byEmail) {
+            builder.subscriberEmails((List<String>) (List<?>) addresses);
+        } else {
+            builder.subscriberIds((List<Long>) (List<?>) addresses);
+        }
+        
+        service.sendTransactionalMessage(builder.build()).whenComplete((sent, error) -> {
+            ListmonkException rejection = error != null && recipients.size() > 1 ? rejection(error) : null;
+            if (rejection != null) {
+                String body = rejection.getErrorBody() != null ? rejection.getErrorBody() : "";
+                List<Recipient> named = new ArrayList<>();
+                List<Recipient> others = new ArrayList<>();
+                for (Recipient recipient : recipients) {
+                    (isNamed(body, recipient) ? named : others).add(recipient);
+                }
+                if (!named.isEmpty()) {
+                    named.forEach(recipient -> recipient.future.completeExceptionally(error));
+                    if (!others.isEmpty()) {
+                        dispatch(key, others);
+                    }
+                    return;
+                }
+                if (SUBSCRIBER.matcher(body).find()) {
+                    recipients.forEach(recipient -> sendAlone(key, recipient));
+                    return;
+                }
+            }
+            for (Recipient recipient : recipients) {
+                if (error != null) {
+                    recipient.future.completeExceptionally(error);
+                } else {
+                    recipient.future.complete(sent);
+                }
+            }
+        });
+    }
+    
+    private void sendAlone(BatchKey key, Recipient recipient) {
+        TransactionalMessage.Builder builder = key.message();
+        if (key.byEmail) {
+            builder.subscriberEmail((String) recipient.address);
+        } else {
+            builder.subscriberId((Long) recipient.address);
+        }
+        service.sendTransactionalMessage(builder.build()).whenComplete((sent, error) -> {
+            if (error != null) {
+                recipient.future.completeExceptionally(error);
+            } else {
+                recipient.future.complete(sent);
+            }
+        });
+    }
+    
+    // A 4xx other than 429 rejects the request content, which may be due to a single recipient
+    private static ListmonkException rejection(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof ListmonkException)) {
+            return null;
+        }
+        int status = ((ListmonkException) cause).getStatusCode();
+        return status >= 400 && status < 500 && status != 429 ? (ListmonkException) cause : null;
+    }
+    
+    private static boolean isNamed(String body, Recipient recipient) {
+        if (recipient.address instanceof String) {
+            return body.toLowerCase(Locale.ROOT).contains(((String) recipient.address).toLowerCase(Locale.ROOT));
+        }
+        return Pattern.compile("(?<![\\w.])" + recipient.address + "(?![\\w.])").matcher(body).find();
+    }
+    
+    // Deep copy of maps and lists, so that a queued message cannot change under its batch key
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T value) {
+        if (value instanceof Map) {
+            Map<Object, Object> result = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> result.put(k, copy(v)));
+            return (T) Collections.unmodifiableMap(result);
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>();
+            ((List<?>) value).forEach(v -> result.add(copy(v)));
+            return (T) Collections.unmodifiableList(result);
+        }
+        return value;
+    }
+    
+    /**
+     * Create a new builder for TransactionalBatcher.
+     *
+     * @param client the client used to send the batched messages
+     * @return a new Builder instance
+     */
+    public static Builder builder(ListmonkClient client) {
+        return new Builder(client);
+    }
+    
+    private static final class Recipient {
+        private final Object address;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        
+        Recipient(Object address) {
+            this.address = address;
+        }
+    }
+    
+    /**
+     * The message fields that must match for two messages to share a send.
+     */
+    private static final class BatchKey {
+        private final Long templateId;
+        private final String fromEmail;
+        private final String subject;
+        private final Map<String, Object> data;
+        private final List<Map<String, String>> headers;
+        private final String messenger;
+        private final String contentType;
+        private final boolean byEmail;
+        
+        BatchKey(TransactionalMessage message, boolean byEmail) {
+            this.templateId = message.getTemplateId();
+            this.fromEmail = message.getFromEmail();
+            this.subject = message.getSubject();
+            this.data = copy(message.getData());
+            this.headers = copy(message.getHeaders());
+            this.messenger = message.getMessenger();
+            this.contentType = message.getContentType();
+            this.byEmail = byEmail;
+        }
+        
+        TransactionalMessage.Builder message() {
+            return TransactionalMessage.builder(templateId)
+                    .fromEmail(fromEmail)
+                    .subject(subject)
+                    .data(data)
+                    .headers(headers)
+                    .messenger(messenger)
+                    .contentType(contentType);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey other = (BatchKey) o;
+            return byEmail == other.byEmail
+                    && Objects.equals(templateId, other.templateId)
+                    && Objects.equals(fromEmail, other.fromEmail)
+                    && Objects.equals(subject, other.subject)
+                    && Objects.equals(data, other.data)
+                    && Objects.equals(headers, other.headers)
+                    && Objects.equals(messenger, other.messenger)
+                    && Objects.equals(contentType, other.contentType);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(templateId, fromEmail, subject, data, headers, messenger, contentType, byEmail);
+        }
+    }
+    
+    /**
+     * Builder for creating TransactionalBatcher instances.
+     */
+    public static class Builder {
+        private final ListmonkClient client;
+        private Duration window = Duration.ofMillis(10);
+        private int maxBatchSize = 100;
+        
+        private Builder(ListmonkClient client) {
+            this.client = Objects.requireNonNull(client, "Client cannot be null");
+        }
+        
+        /**
+         * Set how long messages are collected before a batch is sent.
+         *
+         * @param window the batch window
+         * @return this Builder
+         */
+        public Builder window(Duration window) {
+            this.window = Objects.requireNonNull(window, "Window cannot be null");
+            return this;
+        }
+        
+        /**
+         * Set the number of recipients that sends a batch immediately.
+         *
+         * @param maxBatchSize the maximum number of recipients per send
+         * @return this Builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+        
+        /**
+         * Build the TransactionalBatcher instance.
+         *
+         * @return a configured TransactionalBatcher
+         */
+        public TransactionalBatcher build() {
+            return new TransactionalBatcher(this);
+        }
+    }
+}
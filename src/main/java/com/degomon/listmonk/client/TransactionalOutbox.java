@@ -0,0 +1,511 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.AsyncTransactionalService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Durable local outbox for transactional messages.
+ * Messages passed to {@link #enqueue(TransactionalMessage)} are appended to a memory-mapped
+ * segment log before they are sent, so they survive a process restart. Each record is stored as
+ * {@code [length][sequence][crc32][json]}. Delivered messages are acknowledged through a
+ * checkpoint file holding the highest sequence below which every message has been delivered.
+ * The checkpoint is written in the background, on a timer and after every batch of
+ * acknowledgements, and never while holding the lock that appends take.
+ * <p>
+ * When the outbox is opened, every record after the checkpoint is sent again through the
+ * {@link com.degomon.listmonk.service.TransactionalService}. Segments that contain only
+ * acknowledged records are deleted. Messages are retried with exponential backoff on network
+ * errors and 5xx or 429 responses, up to {@link Builder#maxAttempts(int)} attempts. Other 4xx
+ * responses, and messages that run out of attempts, are acknowledged and reported as failures.
+ * Delivery is therefore at-least-once.
+ */
+public class TransactionalOutbox implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionalOutbox.class);
+    
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "outbox.checkpoint";
+    private static final String IDEMPOTENCY_KEY_FIELD = "idempotency_key";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    private final int maxAttempts;
+    private final int checkpointEvery;
+    private final Object checkpointLock = new Object();
+    private final AtomicInteger unsavedAcks = new AtomicInteger();
+    private final AsyncTransactionalService service;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentSkipListMap<Long, Entry> pending = new ConcurrentSkipListMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private MappedByteBuffer active;
+    private long nextSequence;
+    private volatile long checkpoint;
+    private boolean closed = false;
+    
+    private TransactionalOutbox(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.syncOnAppend = builder.syncOnAppend;
+        this.maxAttempts = builder.maxAttempts;
+        this.checkpointEvery = builder.checkpointEvery;
+        this.service = builder.client.async().transactional();
+        this.objectMapper = builder.client.objectMapper();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.platformThreadFactory("listmonk-outbox"));
+        
+        Files.createDirectories(directory);
+        this.checkpoint = readCheckpoint();
+        this.nextSequence = checkpoint + 1;
+        recover();
+        deleteSegments(removeAcknowledgedSegments(checkpoint));
+        long interval = builder.checkpointInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+        pending.values().forEach(this::deliver);
+    }
+    
+    /**
+     * Append a transactional message to the outbox and send it.
+     *
+     * @param message the transactional message details
+     * @return future that completes with true once the message has been delivered
+     * @throws UncheckedIOException  if the message cannot be written to the log
+     * @throws IllegalStateException if the outbox has been closed
+     */
+    public CompletableFuture<Boolean> enqueue(TransactionalMessage message) {
+        Objects.requireNonNull(message, "Message cannot be null");
+        Entry entry;
+        try {
+            byte[] payload = serialize(message);
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Outbox has been closed");
+                }
+                long sequence = nextSequence++;
+                append(sequence, payload);
+                entry = new Entry(sequence, message);
+                pending.put(sequence, entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append message to outbox", e);
+        }
+        deliver(entry);
+        return entry.future;
+    }
+    
+    /**
+     * Get the number of messages that have been appended but not yet acknowledged.
+     *
+     * @return the pending message count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+    
+    /**
+     * Stop sending, flush the log and write a final checkpoint. Unacknowledged messages are
+     * replayed the next time the outbox is opened on the same directory.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        scheduler.shutdownNow();
+        checkpoint();
+        synchronized (this) {
+            // Java 17 has no public unmap, so drop the last reference and let the mapping be collected
+            if (active != null) {
+                active.force();
+                active = null;
+            }
+        }
+    }
+    
+    private void deliver(Entry entry) {
+        service.sendTransactionalMessage(entry.message).whenComplete((sent, error) -> {
+            if (error == null) {
+                acknowledge(entry);
+                entry.future.complete(sent);
+            } else if (isPermanent(error)) {
+                log.warn("Dropping outbox message {} after permanent failure", entry.sequence, error);
+                acknowledge(entry);
+                entry.future.completeExceptionally(error);
+            } else if (++entry.attempts >= maxAttempts) {
+                log.warn("Dropping outbox message {} after {} attempts", entry.sequence, entry.attempts, error);
+                acknowledge(entry);
+                entry.future.completeExceptionally(error);
+            } else {
+                retry(entry, error);
+            }
+        });
+    }
+    
+    private void retry(Entry entry, Throwable error) {
+        long delay = Math.min(MAX_RETRY_DELAY_MILLIS, 100L << Math.min(entry.attempts - 1, 10));
+        log.debug("Retrying outbox message {} in {} ms", entry.sequence, delay, error);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            scheduler.schedule(() -> deliver(entry), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private static boolean isPermanent(Throwable error) {
+        if (error instanceof ListmonkException) {
+            int status = ((ListmonkException) error).getStatusCode();
+            return status >= 400 && status < 500 && status != 429;
+        }
+        return false;
+    }
+    
+    private void acknowledge(Entry entry) {
+        pending.remove(entry.sequence);
+        if (unsavedAcks.incrementAndGet() >= checkpointEvery) {
+            unsavedAcks.set(0);
+            try {
+                scheduler.execute(this::checkpoint);
+            } catch (RejectedExecutionException e) {
+                // Closing; close() writes the final checkpoint
+            }
+        }
+    }
+    
+    // Persist the acknowledged watermark and delete segments it covers. Only reading the watermark
+    // takes the append lock; the file work runs outside it.
+    private void checkpoint() {
+        synchronized (checkpointLock) {
+            long watermark;
+            synchronized (this) {
+                Map.Entry<Long, Entry> oldest = pending.firstEntry();
+                watermark = oldest != null ? oldest.getKey() - 1 : nextSequence - 1;
+            }
+            if (watermark <= checkpoint) {
+                return;
+            }
+            try {
+                writeCheckpoint(watermark);
+            } catch (IOException e) {
+                log.warn("Could not write outbox checkpoint", e);
+                return;
+            }
+            checkpoint = watermark;
+            deleteSegments(removeAcknowledgedSegments(watermark));
+        }
+    }
+    
+    private void append(long sequence, byte[] payload) throws IOException {
+        int recordSize = HEADER_BYTES + payload.length;
+        // A zero length marks the end of the records in a segment, so always leave room for it
+        if (active == null || active.remaining() < recordSize + Integer.BYTES) {
+            roll(sequence, recordSize + Integer.BYTES);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        active.putInt(payload.length);
+        active.putLong(sequence);
+        active.putInt((int) crc.getValue());
+        active.put(payload);
+        segments.get(segments.size() - 1).lastSequence = sequence;
+        if (syncOnAppend) {
+            active.force();
+        }
+    }
+    
+    private void roll(long firstSequence, int minimumSize) throws IOException {
+        if (active != null) {
+            active.force();
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minimumSize));
+        }
+        segments.add(new Segment(path, firstSequence - 1));
+    }
+    
+    private void recover() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        for (Path path : paths) {
+            Segment segment = new Segment(path, checkpoint);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                readRecords(segment, buffer);
+            }
+            segments.add(segment);
+        }
+    }
+    
+    private void readRecords(Segment segment, ByteBuffer buffer) throws IOException {
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() - Long.BYTES - Integer.BYTES) {
+                return;
+            }
+            long sequence = buffer.getLong();
+            int checksum = buffer.getInt();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                // A torn write at the end of the log; everything after it is unusable
+                log.warn("Ignoring corrupt outbox record {} in {}", sequence, segment.path);
+                return;
+            }
+            segment.lastSequence = Math.max(segment.lastSequence, sequence);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            if (sequence > checkpoint) {
+                TransactionalMessage message = deserialize(payload);
+                pending.put(sequence, new Entry(sequence, message));
+            }
+        }
+    }
+    
+    private byte[] serialize(TransactionalMessage message) throws IOException {
+        // The idempotency key is not part of the API payload, so store it alongside
+        ObjectNode node = objectMapper.valueToTree(message);
+        if (message.getIdempotencyKey() != null) {
+            node.put(IDEMPOTENCY_KEY_FIELD, message.getIdempotencyKey());
+        }
+        return objectMapper.writeValueAsBytes(node);
+    }
+    
+    private TransactionalMessage deserialize(byte[] payload) throws IOException {
+        ObjectNode node = (ObjectNode) objectMapper.readTree(payload);
+        JsonNode key = node.remove(IDEMPOTENCY_KEY_FIELD);
+        TransactionalMessage message = objectMapper.treeToValue(node, TransactionalMessage.class);
+        if (key != null) {
+            message.setIdempotencyKey(key.asText());
+        }
+        return message;
+    }
+    
+    private synchronized List<Segment> removeAcknowledgedSegments(long watermark) {
+        // Never delete the segment currently being appended to
+        int last = active != null ? segments.size() - 1 : segments.size();
+        List<Segment> removed = new ArrayList<>();
+        for (int i = 0; i < last; ) {
+            Segment segment = segments.get(i);
+            if (segment.lastSequence > watermark) {
+                i++;
+                continue;
+            }
+            removed.add(segments.remove(i));
+            last--;
+        }
+        return removed;
+    }
+    
+    private static void deleteSegments(List<Segment> segments) {
+        for (Segment segment : segments) {
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                // Left behind; its records are below the checkpoint, so they are skipped when reopened
+                log.debug("Could not delete outbox segment {}", segment.path, e);
+            }
+        }
+    }
+    
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+    
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(sequence).array());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Create a new builder for TransactionalOutbox.
+     *
+     * @param client    the client used to deliver messages
+     * @param directory the directory holding the segment files and checkpoint
+     * @return a new Builder instance
+     */
+    public static Builder builder(ListmonkClient client, Path directory) {
+        return new Builder(client, directory);
+    }
+    
+    private static final class Entry {
+        private final long sequence;
+        private final TransactionalMessage message;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private int attempts = 0;
+        
+        Entry(long sequence, TransactionalMessage message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+    
+    private static final class Segment {
+        private final Path path;
+        private long lastSequence;
+        
+        Segment(Path path, long lastSequence) {
+            this.path = path;
+            this.lastSequence = lastSequence;
+        }
+    }
+    
+    /**
+     * Builder for creating TransactionalOutbox instances.
+     */
+    public static class Builder {
+        private final ListmonkClient client;
+        private final Path directory;
+        private int segmentSize = 16 * 1024 * 1024;
+        private boolean syncOnAppend = false;
+        private int maxAttempts = 20;
+        private Duration checkpointInterval = Duration.ofSeconds(1);
+        private int checkpointEvery = 1000;
+        
+        private Builder(ListmonkClient client, Path directory) {
+            this.client = Objects.requireNonNull(client, "Client cannot be null");
+            this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        }
+        
+        /**
+         * Set the size of each memory-mapped segment file.
+         *
+         * @param segmentSize the segment size in bytes
+         * @return this Builder
+         */
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+        
+        /**
+         * Force every append to the storage device before {@code enqueue} returns.
+         * Without this, appended messages survive a process crash but may be lost if the
+         * operating system itself crashes before the page cache is written back.
+         *
+         * @param syncOnAppend true to force each append to disk
+         * @return this Builder
+         */
+        public Builder syncOnAppend(boolean syncOnAppend) {
+            this.syncOnAppend = syncOnAppend;
+            return this;
+        }
+        
+        /**
+         * Set the number of delivery attempts for a message that keeps failing with a network
+         * error, a 5xx or a 429 before it is dropped and its future fails. Defaults to 20, which
+         * with backoff capped at a minute spans roughly 11 minutes.
+         *
+         * @param maxAttempts the maximum number of attempts
+         * @return this Builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        
+        /**
+         * Set how often the checkpoint is written in the background, and after how many
+         * acknowledgements it is written early. Messages acknowledged after the last checkpoint
+         * are sent again if the process crashes. Defaults to every second or 1000 acknowledgements.
+         *
+         * @param interval the time between checkpoints
+         * @param every    the number of acknowledgements that trigger a checkpoint
+         * @return this Builder
+         */
+        public Builder checkpointInterval(Duration interval, int every) {
+            Objects.requireNonNull(interval, "Checkpoint interval cannot be null");
+            if (interval.isZero() || interval.isNegative()) {
+                throw new IllegalArgumentException("Checkpoint interval must be positive");
+            }
+            if (every < 1) {
+                throw new IllegalArgumentException("Checkpoint batch must be at least 1");
+            }
+            this.checkpointInterval = interval;
+            this.checkpointEvery = every;
+            return this;
+        }
+        
+        /**
+         * Open the outbox, replaying any messages that were not acknowledged before.
+         *
+         * @return a configured TransactionalOutbox
+         * @throws IOException if the segment files or checkpoint cannot be read
+         */
+        public TransactionalOutbox build() throws IOException {
+            return new TransactionalOutbox(this);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.TransactionalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends transactional messages from a bounded in-memory queue on background workers.
+ * {@link #submit(TransactionalMessage)} only enqueues the message, so request threads do not
+ * wait for Listmonk; the workers drain the queue at whatever rate the server sustains.
+ * When the queue is full, the configured {@link OverflowPolicy} decides whether the caller
+ * blocks, the message is dropped, or the submission fails immediately.
+ */
+public class TransactionalSendQueue implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionalSendQueue.class);
+    
+    /**
+     * What {@link #submit(TransactionalMessage)} does when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the workers free up space in the queue.
+         */
+        BLOCK,
+        /**
+         * Discard the message and return a future that has already failed.
+         */
+        DROP,
+        /**
+         * Throw a {@link RejectedExecutionException} to the caller.
+         */
+        FAIL_FAST
+    }
+    
+    private final TransactionalService service;
+    private final BlockingQueue<Task> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Thread> workers;
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed = false;
+    
+    private TransactionalSendQueue(Builder builder) {
+        this.service = builder.client.transactional();
+        this.queue = new ArrayBlockingQueue<>(builder.capacity);
+        this.overflowPolicy = builder.overflowPolicy;
+        
+        ThreadFactory factory = builder.virtualThreads
+                ? VirtualThreads.threadFactory("listmonk-tx-queue")
+                : VirtualThreads.platformThreadFactory("listmonk-tx-queue");
+        this.workers = new ArrayList<>(builder.workers);
+        for (int i = 0; i < builder.workers; i++) {
+            Thread worker = factory.newThread(this::work);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+    
+    /**
+     * Queue a transactional message for sending.
+     *
+     * @param message the transactional message details
+     * @return future that completes with true once a worker has sent the message
+     * @throws RejectedExecutionException if the queue has been closed, or if it is full and the
+     *                                    policy is {@link OverflowPolicy#FAIL_FAST}
+     */
+    public CompletableFuture<Boolean> submit(TransactionalMessage message) {
+        Objects.requireNonNull(message, "Message cannot be null");
+        if (closed) {
+            throw new RejectedExecutionException("Send queue has been closed");
+        }
+        Task task = new Task(message);
+        if (!queue.offer(task)) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    try {
+                        queue.put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                    }
+                    break;
+                case DROP:
+                    dropped.incrementAndGet();
+                    task.future.completeExceptionally(new RejectedExecutionException("Send queue is full"));
+                    return task.future;
+                default:
+                    dropped.incrementAndGet();
+                    throw new RejectedExecutionException("Send queue is full");
+            }
+        }
+        // Workers may have exited if close() ran since the check above; take the task back
+        if (closed && queue.remove(task)) {
+            throw new RejectedExecutionException("Send queue has been closed");
+        }
+        submitted.incrementAndGet();
+        return task.future;
+    }
+    
+    /**
+     * Get a snapshot of the queue depth and throughput counters.
+     *
+     * @return the current statistics
+     */
+    public SendQueueStats stats() {
+        return new SendQueueStats(queue.size(), queue.size() + queue.remainingCapacity(), inFlight.get(),
+                submitted.get(), sent.get(), failed.get(), dropped.get(), System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Stop accepting messages and wait until the workers have drained the queue.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if all queued messages were processed within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean close(Duration timeout) throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Stop accepting messages and wait up to 30 seconds for the queue to drain.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!close(Duration.ofSeconds(30))) {
+                log.warn("Transactional send queue did not drain within 30 seconds, {} messages pending",
+                        queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void work() {
+        while (true) {
+            // Read the flag before polling, so a task enqueued before close() is always seen
+            boolean draining = closed;
+            Task task;
+            try {
+                task = draining ? queue.poll() : queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                if (draining) {
+                    return;
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            try {
+                Boolean result = Calls.execute(service.sendTransactionalMessage(task.message));
+                sent.incrementAndGet();
+                task.future.complete(result);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                task.future.completeExceptionally(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Create a new builder for TransactionalSendQueue.
+     *
+     * @param client the client used to send queued messages
+     * @return a new Builder instance
+     */
+    public static Builder builder(ListmonkClient client) {
+        return new Builder(client);
+    }
+    
+    private static final class Task {
+        private final TransactionalMessage message;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        
+        Task(TransactionalMessage message) {
+            this.message = message;
+        }
+    }
+    
+    /**
+     * Builder for creating TransactionalSendQueue instances.
+     */
+    public static class Builder {
+        private final ListmonkClient client;
+        private int capacity = 10_000;
+        private int workers = 4;
+        private boolean virtualThreads = false;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        
+        private Builder(ListmonkClient client) {
+            this.client = Objects.requireNonNull(client, "Client cannot be null");
+        }
+        
+        /**
+         * Set the maximum number of messages waiting to be sent.
+         *
+         * @param capacity the queue capacity
+         * @return this Builder
+         */
+        public Builder capacity(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be at least 1");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+        
+        /**
+         * Set the number of workers sending messages concurrently.
+         *
+         * @param workers the number of workers
+         * @return this Builder
+         */
+        public Builder workers(int workers) {
+            if (workers < 1) {
+                throw new IllegalArgumentException("Workers must be at least 1");
+            }
+            this.workers = workers;
+            return this;
+        }
+        
+        /**
+         * Run the workers on virtual threads when the JVM supports them (Java 21+).
+         *
+         * @param virtualThreads true to use virtual threads for the workers
+         * @return this Builder
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+        
+        /**
+         * Set what happens when a message is submitted to a full queue.
+         *
+         * @param overflowPolicy the overflow policy
+         * @return this Builder
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy cannot be null");
+            return this;
+        }
+        
+        /**
+         * Build the TransactionalSendQueue instance and start its workers.
+         *
+         * @return a configured TransactionalSendQueue
+         */
+        public TransactionalSendQueue build() {
+            return new TransactionalSendQueue(this);
+        }
+    }
+}
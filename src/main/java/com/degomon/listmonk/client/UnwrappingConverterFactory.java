@@ -0,0 +1,76 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.service.Unwrapped;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Converter factory for service methods annotated with {@link Unwrapped}.
+ * The converter seeks the {@code data} field of the response envelope and binds only its value
+ * with a reader prepared once per method, so no wrapper object is allocated per call.
+ * Methods without the annotation are left to the next converter factory.
+ */
+final class UnwrappingConverterFactory extends Converter.Factory {
+    
+    private final ObjectMapper objectMapper;
+    
+    UnwrappingConverterFactory(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Unwrapped) {
+                return new DataConverter<>(objectMapper.readerFor(objectMapper.constructType(type)));
+            }
+        }
+        return null;
+    }
+    
+    private static final class DataConverter<T> implements Converter<ResponseBody, T> {
+        private final ObjectReader reader;
+        
+        DataConverter(ObjectReader reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public T convert(ResponseBody body) throws IOException {
+            try (body; JsonParser parser = reader.createParser(body.byteStream())) {
+                JsonToken token = Envelopes.seekData(parser);
+                if (token == null || token == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                return reader.readValue(parser);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors backed by virtual threads when the running JVM supports them.
+ * The library targets Java 17, so virtual threads are looked up reflectively and a
+ * cached platform-thread pool is used as a fallback on older runtimes.
+ */
+final class VirtualThreads {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+    
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = lookupThreadPerTaskExecutor();
+    private static final Method OF_VIRTUAL = lookupOfVirtual();
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * Check whether the running JVM supports virtual threads.
+     *
+     * @return true if virtual threads are available
+     */
+    static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null && OF_VIRTUAL != null;
+    }
+    
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     * Falls back to a cached pool of daemon platform threads if virtual threads are unavailable.
+     *
+     * @param name the name prefix for created threads
+     * @return the executor
+     */
+    static ExecutorService newExecutor(String name) {
+        if (isSupported()) {
+            try {
+                ThreadFactory factory = virtualThreadFactory(name);
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Could not create virtual thread executor, falling back to platform threads", e);
+            }
+        } else {
+            log.warn("Virtual threads require Java 21 or later, falling back to platform threads");
+        }
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), platformThreadFactory(name));
+    }
+    
+    /**
+     * Create a thread factory for the given name prefix, using virtual threads when supported.
+     *
+     * @param name the name prefix for created threads
+     * @return the thread factory
+     */
+    static ThreadFactory threadFactory(String name) {
+        if (isSupported()) {
+            try {
+                return virtualThreadFactory(name);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Could not create virtual thread factory, falling back to platform threads", e);
+            }
+        }
+        return platformThreadFactory(name);
+    }
+    
+    // Thread builders are mutable and not thread-safe, so every factory gets its own
+    private static ThreadFactory virtualThreadFactory(String name) throws ReflectiveOperationException {
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        Object builder = builderClass.getMethod("name", String.class, long.class)
+                .invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+        return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    }
+    
+    /**
+     * Create a thread factory for named daemon platform threads.
+     *
+     * @param name the name prefix for created threads
+     * @return the thread factory
+     */
+    static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static Method lookupThreadPerTaskExecutor() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+    
+    private static Method lookupOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
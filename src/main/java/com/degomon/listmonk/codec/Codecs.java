@@ -0,0 +1,493 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reading and writing helpers used by generated codecs.
+ * Values are converted the way the client's {@code ObjectMapper} converts them: timestamps are
+ * ISO-8601 strings adjusted to UTC when read, and untyped values become maps, lists, strings,
+ * numbers and booleans.
+ */
+public final class Codecs {
+    
+    private Codecs() {
+    }
+    
+    /**
+     * Position a parser on the first token of the next value if it has no current token.
+     *
+     * @param parser the parser
+     * @return the current token
+     * @throws IOException if the input cannot be parsed
+     */
+    public static JsonToken start(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        return token != null ? token : parser.nextToken();
+    }
+    
+    /**
+     * Check that the parser is on the start of an object.
+     *
+     * @param parser the parser
+     * @param type   the type being read, for the error message
+     * @throws IOException if the current token does not start an object
+     */
+    public static void expectObject(JsonParser parser, Class<?> type) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object for " + type.getSimpleName()
+                    + " but found " + parser.currentToken());
+        }
+    }
+    
+    /**
+     * Read a string. Scalars other than strings are read as their text.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the string, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a string but found " + token);
+        }
+        return parser.getValueAsString();
+    }
+    
+    /**
+     * Read a {@code Long}.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static Long readLong(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+    }
+    
+    /**
+     * Read an {@code Integer}.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static Integer readInteger(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+    }
+    
+    /**
+     * Read a {@code Double}.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static Double readDouble(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsDouble();
+    }
+    
+    /**
+     * Read a {@code Boolean}.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static Boolean readBoolean(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean();
+    }
+    
+    /**
+     * Read a primitive {@code long}, like data binding does.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or 0 for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static long readLongValue(JsonParser parser) throws IOException {
+        return parser.getValueAsLong(0L);
+    }
+    
+    /**
+     * Read a primitive {@code int}, like data binding does.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or 0 for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static int readIntValue(JsonParser parser) throws IOException {
+        return parser.getValueAsInt(0);
+    }
+    
+    /**
+     * Read a primitive {@code double}, like data binding does.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or 0 for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static double readDoubleValue(JsonParser parser) throws IOException {
+        return parser.getValueAsDouble(0.0);
+    }
+    
+    /**
+     * Read a primitive {@code boolean}, like data binding does.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the value, or false for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static boolean readBooleanValue(JsonParser parser) throws IOException {
+        return parser.getValueAsBoolean(false);
+    }
+    
+    /**
+     * Read an ISO-8601 timestamp, adjusted to UTC.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the timestamp, or null for JSON null or a blank string
+     * @throws IOException if the input cannot be parsed or is not a valid timestamp
+     */
+    public static OffsetDateTime readOffsetDateTime(JsonParser parser) throws IOException {
+        String text = readString(parser);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text.trim(), DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                    .withOffsetSameInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException(parser, "Invalid timestamp: " + text, e);
+        }
+    }
+    
+    /**
+     * Read an array of strings.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the strings, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static String[] readStringArray(JsonParser parser) throws IOException {
+        List<String> values = readStringList(parser);
+        return values != null ? values.toArray(new String[0]) : null;
+    }
+    
+    /**
+     * Read a list of strings.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the strings, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static List<String> readStringList(JsonParser parser) throws IOException {
+        return readList(parser, Codecs::readString);
+    }
+    
+    /**
+     * Read a list of {@code Long} values.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the values, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static List<Long> readLongList(JsonParser parser) throws IOException {
+        return readList(parser, Codecs::readLong);
+    }
+    
+    /**
+     * Read a list of {@code Integer} values.
+     *
+     * @param parser the parser, positioned on the value
+     * @return the values, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static List<Integer> readIntegerList(JsonParser parser) throws IOException {
+        return readList(parser, Codecs::readInteger);
+    }
+    
+    /**
+     * Read a list of models with their codec.
+     *
+     * @param parser the parser, positioned on the value
+     * @param codec  the codec of the element type
+     * @param <T>    the element type
+     * @return the models, or null for JSON null
+     * @throws IOException if the input cannot be parsed
+     */
+    public static <T> List<T> readList(JsonParser parser, JsonCodec<T> codec) throws IOException {
+        return readList(parser, codec::read);
+    }
+    
+    private static <T> List<T> readList(JsonParser parser, Reader<T> reader) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array but found " + token);
+        }
+        List<T> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(reader.read(parser));
+        }
+        return values;
+    }
+    
+    /**
+     * Read any JSON value into maps, lists, strings, numbers and booleans.
+     *
+     * @param parser the parser, positioned on the first token of the value
+     * @return the value
+     * @throws IOException if the input cannot be parsed
+     */
+    public static Object readUntyped(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    map.put(name, readUntyped(parser));
+                }
+                return map;
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readUntyped(parser));
+                }
+                return list;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + parser.currentToken());
+        }
+    }
+    
+    /**
+     * Write a string, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeString(JsonGenerator generator, String value) throws IOException {
+        generator.writeString(value);
+    }
+    
+    /**
+     * Write a {@code Long}, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+    
+    /**
+     * Write an {@code Integer}, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeInteger(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+    
+    /**
+     * Write a {@code Double}, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeDouble(JsonGenerator generator, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+    
+    /**
+     * Write a {@code Boolean}, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeBoolean(JsonGenerator generator, Boolean value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value);
+        }
+    }
+    
+    /**
+     * Write a timestamp as an ISO-8601 string, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeOffsetDateTime(JsonGenerator generator, OffsetDateTime value) throws IOException {
+        generator.writeString(value != null ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value) : null);
+    }
+    
+    /**
+     * Write an array of strings, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the values to write
+     * @throws IOException if writing fails
+     */
+    public static void writeStringArray(JsonGenerator generator, String[] value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (String element : value) {
+            generator.writeString(element);
+        }
+        generator.writeEndArray();
+    }
+    
+    /**
+     * Write a list of models with their codec, or JSON null.
+     *
+     * @param generator the generator
+     * @param value     the models to write
+     * @param codec     the codec of the element type
+     * @param <T>       the element type
+     * @throws IOException if writing fails
+     */
+    public static <T> void writeList(JsonGenerator generator, List<T> value, JsonCodec<T> codec) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (T element : value) {
+            codec.write(generator, element);
+        }
+        generator.writeEndArray();
+    }
+    
+    /**
+     * Write maps, collections, arrays, strings, numbers and booleans directly, and hand any other
+     * value to the generator's {@code ObjectCodec}, such as the client's {@code ObjectMapper}.
+     *
+     * @param generator the generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public static void writeUntyped(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeUntyped(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Collection) {
+            generator.writeStartArray();
+            for (Object element : (Collection<?>) value) {
+                writeUntyped(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Object[]) {
+            generator.writeStartArray();
+            for (Object element : (Object[]) value) {
+                writeUntyped(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeObject(value);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+}
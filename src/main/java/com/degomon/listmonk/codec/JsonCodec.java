@@ -0,0 +1,52 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes one type with Jackson's streaming API, without data binding.
+ *
+ * @param <T> the type handled by the codec
+ */
+public interface JsonCodec<T> {
+    
+    /**
+     * Write a value, or a JSON null if the value is null.
+     *
+     * @param generator the generator to write to
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    void write(JsonGenerator generator, T value) throws IOException;
+    
+    /**
+     * Read a value starting at the parser's current token.
+     * The parser is advanced first if it has no current token. When the method returns, the
+     * parser is positioned on the last token of the value.
+     *
+     * @param parser the parser to read from
+     * @return the value, or null for a JSON null
+     * @throws IOException if the input is not a valid representation of the type
+     */
+    T read(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,397 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.codec.processor;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a {@link com.degomon.listmonk.codec.JsonCodec} for every class annotated with
+ * {@link com.degomon.listmonk.codec.GenerateCodec}, and the {@code GeneratedCodecs} registry.
+ * The build compiles this processor in a separate compiler execution before the main sources,
+ * which it then processes; it is not registered as a service, so it does not run in projects
+ * that depend on the library.
+ */
+@SupportedAnnotationTypes(CodecProcessor.GENERATE_CODEC)
+public class CodecProcessor extends AbstractProcessor {
+    
+    static final String GENERATE_CODEC = "com.degomon.listmonk.codec.GenerateCodec";
+    
+    private static final String CODEC_PACKAGE = "com.degomon.listmonk.codec";
+    private static final String CODECS = CODEC_PACKAGE + ".Codecs";
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\""
+            + CodecProcessor.class.getName() + "\")";
+    
+    private final List<TypeElement> generated = new ArrayList<>();
+    private boolean registryWritten = false;
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        List<TypeElement> types = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(
+                processingEnv.getElementUtils().getTypeElement(GENERATE_CODEC))) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateCodec applies only to classes");
+                continue;
+            }
+            types.add((TypeElement) element);
+        }
+        for (TypeElement type : types) {
+            try {
+                writeCodec(type);
+                generated.add(type);
+            } catch (InvalidModelException e) {
+                error(e.element, e.getMessage());
+            } catch (IOException e) {
+                error(type, "Could not write codec: " + e.getMessage());
+            }
+        }
+        if (!types.isEmpty()) {
+            if (registryWritten) {
+                error(types.get(0), "@GenerateCodec classes must not be generated by other processors");
+                return true;
+            }
+            registryWritten = true;
+            try {
+                writeRegistry();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write codec registry: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+    
+    private void writeCodec(TypeElement type) throws IOException {
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new InvalidModelException(type, "Nested model classes must be static");
+        }
+        boolean hasConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+        if (!hasConstructor) {
+            throw new InvalidModelException(type, "Model classes need a public no-argument constructor");
+        }
+        JsonInclude include = type.getAnnotation(JsonInclude.class);
+        boolean nonNull = include != null && include.value() == JsonInclude.Include.NON_NULL;
+        
+        String modelName = type.getQualifiedName().toString();
+        String codecName = codecSimpleName(type);
+        StringBuilder write = new StringBuilder();
+        StringBuilder read = new StringBuilder();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getAnnotation(JsonIgnore.class) != null) {
+                continue;
+            }
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            if (property == null) {
+                throw new InvalidModelException(field, "Fields must be annotated with @JsonProperty or @JsonIgnore");
+            }
+            String name = property.value().isEmpty() ? field.getSimpleName().toString() : property.value();
+            String getter = accessor(type, field, true);
+            String setter = accessor(type, field, false);
+            Binding binding = binding(field, field.asType());
+            String literal = quote(name);
+            
+            boolean guard = nonNull && binding.nullable;
+            String indent = guard ? "            " : "        ";
+            if (guard) {
+                write.append("        if (value.").append(getter).append("() != null) {\n");
+            }
+            write.append(indent).append("generator.writeFieldName(").append(literal).append(");\n");
+            write.append(indent).append(String.format(binding.write, "value." + getter + "()")).append(";\n");
+            if (guard) {
+                write.append("        }\n");
+            }
+            read.append("                case ").append(literal).append(":\n");
+            read.append("                    value.").append(setter).append("(").append(binding.read).append(");\n");
+            read.append("                    break;\n");
+        }
+        
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        try (Writer out = processingEnv.getFiler()
+                .createSourceFile(packageName + "." + codecName, type).openWriter()) {
+            out.write("package " + packageName + ";\n\n");
+            out.write("/**\n * Streaming codec for {@link " + modelName + "}.\n */\n");
+            out.write(GENERATED + "\n");
+            out.write("public final class " + codecName
+                    + " implements " + CODEC_PACKAGE + ".JsonCodec<" + modelName + "> {\n\n");
+            out.write("    public static final " + codecName + " INSTANCE = new " + codecName + "();\n\n");
+            out.write("    private " + codecName + "() {\n    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public void write(com.fasterxml.jackson.core.JsonGenerator generator, "
+                    + modelName + " value) throws java.io.IOException {\n");
+            out.write("        if (value == null) {\n");
+            out.write("            generator.writeNull();\n            return;\n        }\n");
+            out.write("        generator.writeStartObject();\n");
+            out.write(write.toString());
+            out.write("        generator.writeEndObject();\n    }\n\n");
+            out.write("    @Override\n    @SuppressWarnings(\"unchecked\")\n");
+            out.write("    public " + modelName
+                    + " read(com.fasterxml.jackson.core.JsonParser parser) throws java.io.IOException {\n");
+            out.write("        if (" + CODECS + ".start(parser) == com.fasterxml.jackson.core.JsonToken.VALUE_NULL) {\n"
+                    + "            return null;\n        }\n");
+            out.write("        " + CODECS + ".expectObject(parser, " + modelName + ".class);\n");
+            out.write("        " + modelName + " value = new " + modelName + "();\n");
+            out.write("        while (parser.nextToken() == com.fasterxml.jackson.core.JsonToken.FIELD_NAME) {\n");
+            out.write("            String field = parser.currentName();\n");
+            out.write("            parser.nextToken();\n");
+            out.write("            switch (field) {\n");
+            out.write(read.toString());
+            out.write("                default:\n                    parser.skipChildren();\n");
+            out.write("            }\n        }\n        return value;\n    }\n}\n");
+        }
+    }
+    
+    private void writeRegistry() throws IOException {
+        try (Writer out = processingEnv.getFiler().createSourceFile(CODEC_PACKAGE + ".GeneratedCodecs",
+                generated.toArray(new Element[0])).openWriter()) {
+            out.write("package " + CODEC_PACKAGE + ";\n\n");
+            out.write("/**\n * Codecs generated for the classes annotated with {@link GenerateCodec}.\n */\n");
+            out.write(GENERATED + "\n");
+            out.write("public final class GeneratedCodecs {\n\n");
+            out.write("    private static final java.util.Map<Class<?>, JsonCodec<?>> CODECS =\n");
+            out.write("            java.util.Map.ofEntries(\n");
+            for (int i = 0; i < generated.size(); i++) {
+                TypeElement type = generated.get(i);
+                out.write("                    java.util.Map.entry(" + type.getQualifiedName() + ".class, "
+                        + codecQualifiedName(type) + ".INSTANCE)" + (i < generated.size() - 1 ? ",\n" : ");\n\n"));
+            }
+            out.write("    private GeneratedCodecs() {\n    }\n\n");
+            out.write("    /**\n     * Get the codec generated for a class.\n     *\n"
+                    + "     * @param type the model class\n     * @param <T>  the model type\n"
+                    + "     * @return the codec, or null if none was generated for the class\n     */\n");
+            out.write("    @SuppressWarnings(\"unchecked\")\n");
+            out.write("    public static <T> JsonCodec<T> get(Class<T> type) {\n");
+            out.write("        return (JsonCodec<T>) CODECS.get(type);\n    }\n\n");
+            out.write("    /**\n     * Get the classes that have a generated codec.\n     *\n"
+                    + "     * @return the model classes\n     */\n");
+            out.write("    public static java.util.Set<Class<?>> types() {\n");
+            out.write("        return CODECS.keySet();\n    }\n}\n");
+        }
+    }
+    
+    private Binding binding(Element field, TypeMirror type) {
+        switch (type.getKind()) {
+            // Primitives read JSON null as their default value, like data binding does
+            case LONG:
+                return primitive(CODECS + ".readLongValue(parser)", "generator.writeNumber(%s)");
+            case INT:
+                return primitive(CODECS + ".readIntValue(parser)", "generator.writeNumber(%s)");
+            case DOUBLE:
+                return primitive(CODECS + ".readDoubleValue(parser)", "generator.writeNumber(%s)");
+            case BOOLEAN:
+                return primitive(CODECS + ".readBooleanValue(parser)", "generator.writeBoolean(%s)");
+            case ARRAY:
+                if (isType(((ArrayType) type).getComponentType(), "java.lang.String")) {
+                    return new Binding(CODECS + ".readStringArray(parser)",
+                            CODECS + ".writeStringArray(generator, %s)");
+                }
+                break;
+            case DECLARED:
+                return declaredBinding(field, (DeclaredType) type);
+            default:
+                break;
+        }
+        throw new InvalidModelException(field, "Unsupported field type " + type);
+    }
+    
+    private Binding declaredBinding(Element field, DeclaredType type) {
+        TypeElement element = (TypeElement) type.asElement();
+        String name = element.getQualifiedName().toString();
+        switch (name) {
+            case "java.lang.String":
+                return scalar("String");
+            case "java.lang.Long":
+                return scalar("Long");
+            case "java.lang.Integer":
+                return scalar("Integer");
+            case "java.lang.Double":
+                return scalar("Double");
+            case "java.lang.Boolean":
+                return scalar("Boolean");
+            case "java.time.OffsetDateTime":
+                return scalar("OffsetDateTime");
+            case "java.lang.Object":
+            case "java.util.Map":
+                return untyped(type);
+            case "java.util.List":
+                TypeMirror elementType = type.getTypeArguments().isEmpty() ? null : type.getTypeArguments().get(0);
+                if (elementType == null) {
+                    return untyped(type);
+                }
+                if (isType(elementType, "java.lang.String")) {
+                    return new Binding(CODECS + ".readStringList(parser)", CODECS + ".writeUntyped(generator, %s)");
+                }
+                if (isType(elementType, "java.lang.Long")) {
+                    return new Binding(CODECS + ".readLongList(parser)", CODECS + ".writeUntyped(generator, %s)");
+                }
+                if (isType(elementType, "java.lang.Integer")) {
+                    return new Binding(CODECS + ".readIntegerList(parser)", CODECS + ".writeUntyped(generator, %s)");
+                }
+                TypeElement model = codecModel(elementType);
+                if (model != null) {
+                    String codec = codecQualifiedName(model) + ".INSTANCE";
+                    return new Binding(CODECS + ".readList(parser, " + codec + ")",
+                            CODECS + ".writeList(generator, %s, " + codec + ")");
+                }
+                return untyped(type);
+            default:
+                TypeElement nested = codecModel(type);
+                if (nested != null) {
+                    String codec = codecQualifiedName(nested) + ".INSTANCE";
+                    return new Binding(codec + ".read(parser)", codec + ".write(generator, %s)");
+                }
+                throw new InvalidModelException(field, "Unsupported field type " + type
+                        + "; annotate it with @GenerateCodec or use a supported type");
+        }
+    }
+    
+    private static Binding primitive(String read, String write) {
+        return new Binding(read, write, false);
+    }
+    
+    private static Binding scalar(String name) {
+        return new Binding(CODECS + ".read" + name + "(parser)", CODECS + ".write" + name + "(generator, %s)");
+    }
+    
+    private static Binding untyped(TypeMirror type) {
+        return new Binding("(" + type + ") " + CODECS + ".readUntyped(parser)",
+                CODECS + ".writeUntyped(generator, %s)");
+    }
+    
+    private TypeElement codecModel(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        for (var annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().equals(GENERATE_CODEC)) {
+                return element;
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isType(TypeMirror type, String name) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(name);
+    }
+    
+    private String accessor(TypeElement type, VariableElement field, boolean getter) {
+        String fieldName = field.getSimpleName().toString();
+        String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        List<String> candidates;
+        if (!getter) {
+            candidates = List.of("set" + suffix);
+        } else if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            candidates = List.of("is" + suffix, "get" + suffix);
+        } else {
+            candidates = List.of("get" + suffix);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.PUBLIC)
+                    && candidates.contains(method.getSimpleName().toString())
+                    && method.getParameters().size() == (getter ? 0 : 1)) {
+                return method.getSimpleName().toString();
+            }
+        }
+        throw new InvalidModelException(field, "Field " + fieldName + " needs a public "
+                + (getter ? "getter" : "setter") + " named " + candidates.get(0));
+    }
+    
+    private static String codecSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("Codec").toString();
+    }
+    
+    private String codecQualifiedName(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName() + "." + codecSimpleName(type);
+    }
+    
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+    
+    /**
+     * Read expression and write format, with {@code %s} standing for the field value, of a field,
+     * and whether the field can hold null.
+     */
+    private static final class Binding {
+        final String read;
+        final String write;
+        final boolean nullable;
+        
+        Binding(String read, String write) {
+            this(read, write, true);
+        }
+        
+        Binding(String read, String write, boolean nullable) {
+            this.read = read;
+            this.write = write;
+            this.nullable = nullable;
+        }
+    }
+    
+    private static final class InvalidModelException extends RuntimeException {
+        final transient Element element;
+        
+        InvalidModelException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.degomon.listmonk.model;
 
+import com.degomon.listmonk.codec.GenerateCodec;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -25,6 +26,7 @@ import java.util.List;
 /**
  * Represents a campaign in the Listmonk system.
  */
+@GenerateCodec
 public class Campaign {
     
     @JsonProperty("id")
@@ -244,6 +246,7 @@ public class Campaign {
     /**
      * Represents a list associated with a campaign.
      */
+    @GenerateCodec
     public static class CampaignList {
         @JsonProperty("id")
         private Long id;
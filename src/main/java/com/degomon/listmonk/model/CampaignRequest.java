@@ -0,0 +1,259 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the body of a create or update campaign request for the Listmonk API.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CampaignRequest {
+    
+    @JsonProperty("name")
+    private String name;
+    
+    @JsonProperty("subject")
+    private String subject;
+    
+    @JsonProperty("lists")
+    private List<Long> lists;
+    
+    @JsonProperty("from_email")
+    private String fromEmail;
+    
+    @JsonProperty("type")
+    private String type;
+    
+    @JsonProperty("content_type")
+    private String contentType;
+    
+    @JsonProperty("body")
+    private String body;
+    
+    @JsonProperty("altbody")
+    private String altbody;
+    
+    @JsonProperty("send_at")
+    private OffsetDateTime sendAt;
+    
+    @JsonProperty("messenger")
+    private String messenger;
+    
+    @JsonProperty("template_id")
+    private Long templateId;
+    
+    @JsonProperty("tags")
+    private List<String> tags;
+    
+    @JsonProperty("headers")
+    private List<Map<String, String>> headers;
+    
+    public CampaignRequest() {
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public List<Long> getLists() {
+        return lists;
+    }
+    
+    public void setLists(List<Long> lists) {
+        this.lists = lists;
+    }
+    
+    public String getFromEmail() {
+        return fromEmail;
+    }
+    
+    public void setFromEmail(String fromEmail) {
+        this.fromEmail = fromEmail;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public String getAltbody() {
+        return altbody;
+    }
+    
+    public void setAltbody(String altbody) {
+        this.altbody = altbody;
+    }
+    
+    public OffsetDateTime getSendAt() {
+        return sendAt;
+    }
+    
+    public void setSendAt(OffsetDateTime sendAt) {
+        this.sendAt = sendAt;
+    }
+    
+    public String getMessenger() {
+        return messenger;
+    }
+    
+    public void setMessenger(String messenger) {
+        this.messenger = messenger;
+    }
+    
+    public Long getTemplateId() {
+        return templateId;
+    }
+    
+    public void setTemplateId(Long templateId) {
+        this.templateId = templateId;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public List<Map<String, String>> getHeaders() {
+        return headers;
+    }
+    
+    public void setHeaders(List<Map<String, String>> headers) {
+        this.headers = headers;
+    }
+    
+    /**
+     * Builder for creating CampaignRequest instances.
+     */
+    public static class Builder {
+        private final CampaignRequest request;
+        
+        public Builder(String name) {
+            this.request = new CampaignRequest();
+            this.request.name = name;
+        }
+        
+        public Builder subject(String subject) {
+            this.request.subject = subject;
+            return this;
+        }
+        
+        public Builder lists(List<Long> lists) {
+            this.request.lists = lists;
+            return this;
+        }
+        
+        public Builder fromEmail(String fromEmail) {
+            this.request.fromEmail = fromEmail;
+            return this;
+        }
+        
+        public Builder type(String type) {
+            this.request.type = type;
+            return this;
+        }
+        
+        public Builder contentType(String contentType) {
+            this.request.contentType = contentType;
+            return this;
+        }
+        
+        public Builder body(String body) {
+            this.request.body = body;
+            return this;
+        }
+        
+        public Builder altbody(String altbody) {
+            this.request.altbody = altbody;
+            return this;
+        }
+        
+        public Builder sendAt(OffsetDateTime sendAt) {
+            this.request.sendAt = sendAt;
+            return this;
+        }
+        
+        public Builder messenger(String messenger) {
+            this.request.messenger = messenger;
+            return this;
+        }
+        
+        public Builder templateId(Long templateId) {
+            this.request.templateId = templateId;
+            return this;
+        }
+        
+        public Builder tags(List<String> tags) {
+            this.request.tags = tags;
+            return this;
+        }
+        
+        public Builder headers(List<Map<String, String>> headers) {
+            this.request.headers = headers;
+            return this;
+        }
+        
+        public CampaignRequest build() {
+            return this.request;
+        }
+    }
+    
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+}
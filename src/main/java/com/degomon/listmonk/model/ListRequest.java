@@ -0,0 +1,129 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Represents the body of a create or update mailing list request for the Listmonk API.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ListRequest {
+    
+    @JsonProperty("name")
+    private String name;
+    
+    @JsonProperty("type")
+    private String type;
+    
+    @JsonProperty("optin")
+    private String optin;
+    
+    @JsonProperty("tags")
+    private List<String> tags;
+    
+    @JsonProperty("description")
+    private String description;
+    
+    public ListRequest() {
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getOptin() {
+        return optin;
+    }
+    
+    public void setOptin(String optin) {
+        this.optin = optin;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * Builder for creating ListRequest instances.
+     */
+    public static class Builder {
+        private final ListRequest request;
+        
+        public Builder(String name) {
+            this.request = new ListRequest();
+            this.request.name = name;
+        }
+        
+        public Builder type(String type) {
+            this.request.type = type;
+            return this;
+        }
+        
+        public Builder optin(String optin) {
+            this.request.optin = optin;
+            return this;
+        }
+        
+        public Builder tags(List<String> tags) {
+            this.request.tags = tags;
+            return this;
+        }
+        
+        public Builder description(String description) {
+            this.request.description = description;
+            return this;
+        }
+        
+        public ListRequest build() {
+            return this.request;
+        }
+    }
+    
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+}
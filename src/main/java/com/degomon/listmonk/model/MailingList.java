@@ -18,12 +18,14 @@
 
 package com.degomon.listmonk.model;
 
+import com.degomon.listmonk.codec.GenerateCodec;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.OffsetDateTime;
 
 /**
  * Represents a mailing list in the Listmonk system.
  */
+@GenerateCodec
 public class MailingList {
     
     @JsonProperty("id")
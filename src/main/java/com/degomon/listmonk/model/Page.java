@@ -0,0 +1,77 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Represents one page of a paginated Listmonk API response, including the pagination envelope.
+ *
+ * @param <T> the type of the items on the page
+ */
+public class Page<T> {
+    
+    @JsonProperty("results")
+    private List<T> results;
+    
+    @JsonProperty("total")
+    private Long total;
+    
+    @JsonProperty("page")
+    private Integer page;
+    
+    @JsonProperty("per_page")
+    private Integer perPage;
+    
+    public Page() {
+    }
+    
+    public List<T> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<T> results) {
+        this.results = results;
+    }
+    
+    public Long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+    
+    public Integer getPage() {
+        return page;
+    }
+    
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+    
+    public Integer getPerPage() {
+        return perPage;
+    }
+    
+    public void setPerPage(Integer perPage) {
+        this.perPage = perPage;
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.degomon.listmonk.model;
 
+import com.degomon.listmonk.codec.GenerateCodec;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Map;
 /**
  * Represents a subscriber in the Listmonk system.
  */
+@GenerateCodec
 public class Subscriber {
     
     @JsonProperty("id")
@@ -135,6 +137,7 @@ public class Subscriber {
     /**
      * Represents a subscriber list association.
      */
+    @GenerateCodec
     public static class SubscriberList {
         @JsonProperty("id")
         private Long id;
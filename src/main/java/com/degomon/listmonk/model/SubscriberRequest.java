@@ -0,0 +1,146 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the body of a create or update subscriber request for the Listmonk API.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubscriberRequest {
+    
+    @JsonProperty("email")
+    private String email;
+    
+    @JsonProperty("name")
+    private String name;
+    
+    @JsonProperty("status")
+    private String status;
+    
+    @JsonProperty("lists")
+    private List<Long> lists;
+    
+    @JsonProperty("attribs")
+    private Map<String, Object> attribs;
+    
+    @JsonProperty("preconfirm_subscriptions")
+    private Boolean preconfirmSubscriptions;
+    
+    public SubscriberRequest() {
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public List<Long> getLists() {
+        return lists;
+    }
+    
+    public void setLists(List<Long> lists) {
+        this.lists = lists;
+    }
+    
+    public Map<String, Object> getAttribs() {
+        return attribs;
+    }
+    
+    public void setAttribs(Map<String, Object> attribs) {
+        this.attribs = attribs;
+    }
+    
+    public Boolean getPreconfirmSubscriptions() {
+        return preconfirmSubscriptions;
+    }
+    
+    public void setPreconfirmSubscriptions(Boolean preconfirmSubscriptions) {
+        this.preconfirmSubscriptions = preconfirmSubscriptions;
+    }
+    
+    /**
+     * Builder for creating SubscriberRequest instances.
+     */
+    public static class Builder {
+        private final SubscriberRequest request;
+        
+        public Builder(String email) {
+            this.request = new SubscriberRequest();
+            this.request.email = email;
+        }
+        
+        public Builder name(String name) {
+            this.request.name = name;
+            return this;
+        }
+        
+        public Builder status(String status) {
+            this.request.status = status;
+            return this;
+        }
+        
+        public Builder lists(List<Long> lists) {
+            this.request.lists = lists;
+            return this;
+        }
+        
+        public Builder attribs(Map<String, Object> attribs) {
+            this.request.attribs = attribs;
+            return this;
+        }
+        
+        public Builder preconfirmSubscriptions(Boolean preconfirmSubscriptions) {
+            this.request.preconfirmSubscriptions = preconfirmSubscriptions;
+            return this;
+        }
+        
+        public SubscriberRequest build() {
+            return this.request;
+        }
+    }
+    
+    public static Builder builder(String email) {
+        return new Builder(email);
+    }
+}
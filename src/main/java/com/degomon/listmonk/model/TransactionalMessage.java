@@ -18,6 +18,8 @@
 
 package com.degomon.listmonk.model;
 
+import com.degomon.listmonk.codec.GenerateCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -29,6 +31,7 @@ import java.util.Map;
  * Used to send transactional emails to subscribers using a preconfigured template.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@GenerateCodec
 public class TransactionalMessage {
     
     @JsonProperty("subscriber_email")
@@ -64,6 +67,9 @@ public class TransactionalMessage {
     @JsonProperty("content_type")
     private String contentType;
     
+    @JsonIgnore
+    private String idempotencyKey;
+    
     public TransactionalMessage() {
     }
     
@@ -155,6 +161,20 @@ public class TransactionalMessage {
         this.contentType = contentType;
     }
     
+    /**
+     * Get the key identifying repeats of this message.
+     * The key is only used by the client for deduplication and is not sent to Listmonk.
+     *
+     * @return the idempotency key, or null if none is set
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
     /**
      * Builder for creating TransactionalMessage instances.
      */
@@ -216,6 +236,11 @@ public class TransactionalMessage {
             return this;
         }
         
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.message.idempotencyKey = idempotencyKey;
+            return this;
+        }
+        
         public TransactionalMessage build() {
             return this.message;
         }
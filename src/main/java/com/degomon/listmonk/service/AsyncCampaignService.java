@@ -0,0 +1,143 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.service;
+
+import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.CampaignRequest;
+import com.degomon.listmonk.model.CampaignStatusRequest;
+import com.degomon.listmonk.model.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link CampaignService}.
+ * Every method returns a future that completes with the unwrapped response data.
+ */
+public interface AsyncCampaignService {
+    
+    /**
+     * Get all campaigns.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param status  filter by status
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return future list of campaigns
+     */
+    CompletableFuture<List<Campaign>> getCampaigns(
+            Integer page,
+            Integer perPage,
+            String query,
+            String status,
+            String orderBy,
+            String order
+    );
+    
+    /**
+     * Get one page of campaigns, keeping the pagination envelope.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param status  filter by status
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return future page of campaigns with total count
+     */
+    CompletableFuture<Page<Campaign>> getCampaignsPage(
+            Integer page,
+            Integer perPage,
+            String query,
+            String status,
+            String orderBy,
+            String order
+    );
+    
+    /**
+     * Get a campaign by ID.
+     *
+     * @param id campaign ID
+     * @return future campaign
+     */
+    CompletableFuture<Campaign> getCampaignById(Long id);
+    
+    /**
+     * Create a new campaign.
+     *
+     * @param campaign campaign data
+     * @return future created campaign
+     */
+    CompletableFuture<Campaign> createCampaign(Map<String, Object> campaign);
+    
+    /**
+     * Create a new campaign from a typed request body.
+     *
+     * @param campaign campaign data
+     * @return future created campaign
+     */
+    CompletableFuture<Campaign> createCampaign(CampaignRequest campaign);
+    
+    /**
+     * Update a campaign.
+     *
+     * @param id       campaign ID
+     * @param campaign updated campaign data
+     * @return future updated campaign
+     */
+    CompletableFuture<Campaign> updateCampaign(Long id, Map<String, Object> campaign);
+    
+    /**
+     * Update a campaign from a typed request body.
+     *
+     * @param id       campaign ID
+     * @param campaign updated campaign data
+     * @return future updated campaign
+     */
+    CompletableFuture<Campaign> updateCampaign(Long id, CampaignRequest campaign);
+    
+    /**
+     * Delete a campaign.
+     *
+     * @param id campaign ID
+     * @return future API response data
+     */
+    CompletableFuture<Object> deleteCampaign(Long id);
+    
+    /**
+     * Update the status of a campaign.
+     *
+     * @param id     campaign ID
+     * @param status status data
+     * @return future updated campaign
+     */
+    CompletableFuture<Campaign> updateCampaignStatus(Long id, Map<String, Object> status);
+    
+    /**
+     * Update the status of a campaign from a typed request body.
+     *
+     * @param id     campaign ID
+     * @param status status data
+     * @return future updated campaign
+     */
+    CompletableFuture<Campaign> updateCampaignStatus(Long id, CampaignStatusRequest status);
+}
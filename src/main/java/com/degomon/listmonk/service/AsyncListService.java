@@ -0,0 +1,120 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.service;
+
+import com.degomon.listmonk.model.ListRequest;
+import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link ListService}.
+ * Every method returns a future that completes with the unwrapped response data.
+ */
+public interface AsyncListService {
+    
+    /**
+     * Get all lists.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return future list of mailing lists
+     */
+    CompletableFuture<List<MailingList>> getLists(
+            Integer page,
+            Integer perPage,
+            String query,
+            String orderBy,
+            String order
+    );
+    
+    /**
+     * Get one page of lists, keeping the pagination envelope.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return future page of mailing lists with total count
+     */
+    CompletableFuture<Page<MailingList>> getListsPage(
+            Integer page,
+            Integer perPage,
+            String query,
+            String orderBy,
+            String order
+    );
+    
+    /**
+     * Get a list by ID.
+     *
+     * @param id list ID
+     * @return future mailing list
+     */
+    CompletableFuture<MailingList> getListById(Long id);
+    
+    /**
+     * Create a new list.
+     *
+     * @param list list data
+     * @return future created list
+     */
+    CompletableFuture<MailingList> createList(Map<String, Object> list);
+    
+    /**
+     * Create a new list from a typed request body.
+     *
+     * @param list list data
+     * @return future created list
+     */
+    CompletableFuture<MailingList> createList(ListRequest list);
+    
+    /**
+     * Update a list.
+     *
+     * @param id   list ID
+     * @param list updated list data
+     * @return future updated list
+     */
+    CompletableFuture<MailingList> updateList(Long id, Map<String, Object> list);
+    
+    /**
+     * Update a list from a typed request body.
+     *
+     * @param id   list ID
+     * @param list updated list data
+     * @return future updated list
+     */
+    CompletableFuture<MailingList> updateList(Long id, ListRequest list);
+    
+    /**
+     * Delete a list.
+     *
+     * @param id list ID
+     * @return future API response data
+     */
+    CompletableFuture<Object> deleteList(Long id);
+}
@@ -0,0 +1,124 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.service;
+
+import com.degomon.listmonk.model.Page;
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.SubscriberRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link SubscriberService}.
+ * Every method returns a future that completes with the unwrapped response data.
+ */
+public interface AsyncSubscriberService {
+    
+    /**
+     * Get all subscribers.
+     *
+     * @param page         page number
+     * @param perPage      number of items per page
+     * @param orderBy      field to order by
+     * @param order        order direction (asc or desc)
+     * @param query        search query
+     * @param listId       filter by list ID
+     * @return future list of subscribers
+     */
+    CompletableFuture<List<Subscriber>> getSubscribers(
+            Integer page,
+            Integer perPage,
+            String orderBy,
+            String order,
+            String query,
+            Long listId
+    );
+    
+    /**
+     * Get one page of subscribers, keeping the pagination envelope.
+     *
+     * @param page         page number
+     * @param perPage      number of items per page
+     * @param orderBy      field to order by
+     * @param order        order direction (asc or desc)
+     * @param query        search query
+     * @param listId       filter by list ID
+     * @return future page of subscribers with total count
+     */
+    CompletableFuture<Page<Subscriber>> getSubscribersPage(
+            Integer page,
+            Integer perPage,
+            String orderBy,
+            String order,
+            String query,
+            Long listId
+    );
+    
+    /**
+     * Get a subscriber by ID.
+     *
+     * @param id subscriber ID
+     * @return future subscriber
+     */
+    CompletableFuture<Subscriber> getSubscriberById(Long id);
+    
+    /**
+     * Create a new subscriber.
+     *
+     * @param subscriber subscriber data
+     * @return future created subscriber
+     */
+    CompletableFuture<Subscriber> createSubscriber(Map<String, Object> subscriber);
+    
+    /**
+     * Create a new subscriber from a typed request body.
+     *
+     * @param subscriber subscriber data
+     * @return future created subscriber
+     */
+    CompletableFuture<Subscriber> createSubscriber(SubscriberRequest subscriber);
+    
+    /**
+     * Update a subscriber.
+     *
+     * @param id         subscriber ID
+     * @param subscriber updated subscriber data
+     * @return future updated subscriber
+     */
+    CompletableFuture<Subscriber> updateSubscriber(Long id, Map<String, Object> subscriber);
+    
+    /**
+     * Update a subscriber from a typed request body.
+     *
+     * @param id         subscriber ID
+     * @param subscriber updated subscriber data
+     * @return future updated subscriber
+     */
+    CompletableFuture<Subscriber> updateSubscriber(Long id, SubscriberRequest subscriber);
+    
+    /**
+     * Delete a subscriber.
+     *
+     * @param id subscriber ID
+     * @return future API response data
+     */
+    CompletableFuture<Object> deleteSubscriber(Long id);
+}
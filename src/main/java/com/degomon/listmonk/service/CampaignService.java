@@ -20,6 +20,9 @@ package com.degomon.listmonk.service;
 
 import com.degomon.listmonk.model.ApiResponse;
 import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.CampaignRequest;
+import com.degomon.listmonk.model.CampaignStatusRequest;
+import com.degomon.listmonk.model.Page;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -52,6 +55,28 @@ public interface CampaignService {
             @Query("order") String order
     );
     
+    /**
+     * Get one page of campaigns, keeping the pagination envelope.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param status  filter by status
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return page of campaigns with total count
+     */
+    @Traffic(TrafficClass.BULK)
+    @GET("campaigns")
+    Call<ApiResponse<Page<Campaign>>> getCampaignsPage(
+            @Query("page") Integer page,
+            @Query("per_page") Integer perPage,
+            @Query("query") String query,
+            @Query("status") String status,
+            @Query("order_by") String orderBy,
+            @Query("order") String order
+    );
+    
     /**
      * Get a campaign by ID.
      *
@@ -70,6 +95,15 @@ public interface CampaignService {
     @POST("campaigns")
     Call<ApiResponse<Campaign>> createCampaign(@Body Map<String, Object> campaign);
     
+    /**
+     * Create a new campaign from a typed request body.
+     *
+     * @param campaign campaign data
+     * @return created campaign
+     */
+    @POST("campaigns")
+    Call<ApiResponse<Campaign>> createCampaign(@Body CampaignRequest campaign);
+    
     /**
      * Update a campaign.
      *
@@ -83,6 +117,19 @@ public interface CampaignService {
             @Body Map<String, Object> campaign
     );
     
+    /**
+     * Update a campaign from a typed request body.
+     *
+     * @param id       campaign ID
+     * @param campaign updated campaign data
+     * @return updated campaign
+     */
+    @PUT("campaigns/{id}")
+    Call<ApiResponse<Campaign>> updateCampaign(
+            @Path("id") Long id,
+            @Body CampaignRequest campaign
+    );
+    
     /**
      * Delete a campaign.
      *
@@ -103,4 +150,17 @@ public interface CampaignService {
             @Path("id") Long id,
             @Body Map<String, Object> status
     );
+    
+    /**
+     * Update the status of a campaign from a typed request body.
+     *
+     * @param id     campaign ID
+     * @param status status data
+     * @return updated campaign
+     */
+    @PUT("campaigns/{id}/status")
+    Call<ApiResponse<Campaign>> updateCampaignStatus(
+            @Path("id") Long id,
+            @Body CampaignStatusRequest status
+    );
 }
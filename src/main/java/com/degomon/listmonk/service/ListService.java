@@ -19,7 +19,9 @@
 package com.degomon.listmonk.service;
 
 import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.ListRequest;
 import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Page;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -50,6 +52,26 @@ public interface ListService {
             @Query("order") String order
     );
     
+    /**
+     * Get one page of lists, keeping the pagination envelope.
+     *
+     * @param page    page number
+     * @param perPage number of items per page
+     * @param query   search query
+     * @param orderBy field to order by
+     * @param order   order direction (asc or desc)
+     * @return page of mailing lists with total count
+     */
+    @Traffic(TrafficClass.BULK)
+    @GET("lists")
+    Call<ApiResponse<Page<MailingList>>> getListsPage(
+            @Query("page") Integer page,
+            @Query("per_page") Integer perPage,
+            @Query("query") String query,
+            @Query("order_by") String orderBy,
+            @Query("order") String order
+    );
+    
     /**
      * Get a list by ID.
      *
@@ -68,6 +90,15 @@ public interface ListService {
     @POST("lists")
     Call<ApiResponse<MailingList>> createList(@Body Map<String, Object> list);
     
+    /**
+     * Create a new list from a typed request body.
+     *
+     * @param list list data
+     * @return created list
+     */
+    @POST("lists")
+    Call<ApiResponse<MailingList>> createList(@Body ListRequest list);
+    
     /**
      * Update a list.
      *
@@ -81,6 +112,19 @@ public interface ListService {
             @Body Map<String, Object> list
     );
     
+    /**
+     * Update a list from a typed request body.
+     *
+     * @param id   list ID
+     * @param list updated list data
+     * @return updated list
+     */
+    @PUT("lists/{id}")
+    Call<ApiResponse<MailingList>> updateList(
+            @Path("id") Long id,
+            @Body ListRequest list
+    );
+    
     /**
      * Delete a list.
      *
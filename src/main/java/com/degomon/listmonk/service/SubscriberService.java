@@ -19,7 +19,10 @@
 package com.degomon.listmonk.service;
 
 import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.Page;
 import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.SubscriberRequest;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -52,6 +55,52 @@ public interface SubscriberService {
             @Query("list_id") Long listId
     );
     
+    /**
+     * Get one page of subscribers, keeping the pagination envelope.
+     *
+     * @param page         page number
+     * @param perPage      number of items per page
+     * @param orderBy      field to order by
+     * @param order        order direction (asc or desc)
+     * @param query        search query
+     * @param listId       filter by list ID
+     * @return page of subscribers with total count
+     */
+    @Traffic(TrafficClass.BULK)
+    @GET("subscribers")
+    Call<ApiResponse<Page<Subscriber>>> getSubscribersPage(
+            @Query("page") Integer page,
+            @Query("per_page") Integer perPage,
+            @Query("order_by") String orderBy,
+            @Query("order") String order,
+            @Query("query") String query,
+            @Query("list_id") Long listId
+    );
+    
+    /**
+     * Get subscribers as a raw, unbuffered response body for incremental parsing.
+     * The body must be closed by the caller.
+     *
+     * @param page         page number
+     * @param perPage      number of items per page, or "all"
+     * @param orderBy      field to order by
+     * @param order        order direction (asc or desc)
+     * @param query        search query
+     * @param listId       filter by list ID
+     * @return raw response body
+     */
+    @Traffic(TrafficClass.BULK)
+    @Streaming
+    @GET("subscribers")
+    Call<ResponseBody> streamSubscribers(
+            @Query("page") Integer page,
+            @Query("per_page") String perPage,
+            @Query("order_by") String orderBy,
+            @Query("order") String order,
+            @Query("query") String query,
+            @Query("list_id") Long listId
+    );
+    
     /**
      * Get a subscriber by ID.
      *
@@ -61,6 +110,16 @@ public interface SubscriberService {
     @GET("subscribers/{id}")
     Call<ApiResponse<Subscriber>> getSubscriberById(@Path("id") Long id);
     
+    /**
+     * Get a subscriber by ID, decoding the response data directly without the envelope.
+     *
+     * @param id subscriber ID
+     * @return subscriber
+     */
+    @Unwrapped
+    @GET("subscribers/{id}")
+    Call<Subscriber> getSubscriberByIdUnwrapped(@Path("id") Long id);
+    
     /**
      * Create a new subscriber.
      *
@@ -70,6 +129,15 @@ public interface SubscriberService {
     @POST("subscribers")
     Call<ApiResponse<Subscriber>> createSubscriber(@Body Map<String, Object> subscriber);
     
+    /**
+     * Create a new subscriber from a typed request body.
+     *
+     * @param subscriber subscriber data
+     * @return created subscriber
+     */
+    @POST("subscribers")
+    Call<ApiResponse<Subscriber>> createSubscriber(@Body SubscriberRequest subscriber);
+    
     /**
      * Update a subscriber.
      *
@@ -83,6 +151,19 @@ public interface SubscriberService {
             @Body Map<String, Object> subscriber
     );
     
+    /**
+     * Update a subscriber from a typed request body.
+     *
+     * @param id         subscriber ID
+     * @param subscriber updated subscriber data
+     * @return updated subscriber
+     */
+    @PUT("subscribers/{id}")
+    Call<ApiResponse<Subscriber>> updateSubscriber(
+            @Path("id") Long id,
+            @Body SubscriberRequest subscriber
+    );
+    
     /**
      * Delete a subscriber.
      *
@@ -0,0 +1,38 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.service;
+
+/**
+ * Priority lane a request travels in when the client is configured with traffic lanes.
+ * Each lane has its own dispatcher, connection pool and concurrency limit.
+ */
+public enum TrafficClass {
+    /**
+     * Latency-critical sends, such as password resets and receipts.
+     */
+    TRANSACTIONAL,
+    /**
+     * Regular lookups and updates made on behalf of a user.
+     */
+    INTERACTIVE,
+    /**
+     * Exports, imports and pagination over whole collections.
+     */
+    BULK
+}
@@ -28,6 +28,7 @@ import retrofit2.http.POST;
  * Service interface for Transactional API endpoints.
  * Allows sending transactional messages (emails) to subscribers using preconfigured templates.
  */
+@Traffic(TrafficClass.TRANSACTIONAL)
 public interface TransactionalService {
     
     /**
@@ -38,4 +39,14 @@ public interface TransactionalService {
      */
     @POST("tx")
     Call<ApiResponse<Boolean>> sendTransactionalMessage(@Body TransactionalMessage message);
+    
+    /**
+     * Send a transactional message, decoding the response data directly without the envelope.
+     *
+     * @param message the transactional message details
+     * @return true if the message was sent successfully
+     */
+    @Unwrapped
+    @POST("tx")
+    Call<Boolean> sendTransactionalMessageUnwrapped(@Body TransactionalMessage message);
 }
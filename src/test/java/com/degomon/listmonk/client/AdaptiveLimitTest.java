@@ -0,0 +1,250 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the adaptive concurrency limiter.
+ */
+class AdaptiveLimitTest {
+    
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    /**
+     * Run one full round of calls at the current limit, all with the same round-trip time.
+     */
+    private static void round(AdaptiveLimiter limiter, long rttNanos, boolean dropped) throws InterruptedException {
+        int limit = limiter.limit();
+        for (int i = 0; i < limit; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < limit; i++) {
+            limiter.release(rttNanos, dropped);
+        }
+    }
+    
+    private static AdaptiveLimiter limiter(LimitAlgorithm algorithm) {
+        return new AdaptiveLimiter(AdaptiveLimitConfig.builder()
+                .algorithm(algorithm)
+                .initialLimit(10)
+                .maxLimit(100)
+                .build());
+    }
+    
+    @Test
+    @DisplayName("AIMD should grow additively and back off multiplicatively")
+    void testAimd() throws Exception {
+        AdaptiveLimiter limiter = limiter(LimitAlgorithm.AIMD);
+        
+        limiter.acquire();
+        limiter.release(MILLIS, false);
+        assertEquals(10, limiter.limit(), "an idle limiter should not grow");
+        
+        round(limiter, MILLIS, false);
+        assertTrue(limiter.limit() > 10);
+        
+        int before = limiter.limit();
+        limiter.acquire();
+        limiter.release(MILLIS, true);
+        assertEquals((int) (before * 0.9), limiter.limit());
+    }
+    
+    @Test
+    @DisplayName("Vegas should grow at the base latency and shrink as latency rises")
+    void testVegas() throws Exception {
+        AdaptiveLimiter limiter = limiter(LimitAlgorithm.VEGAS);
+        for (int i = 0; i < 5; i++) {
+            round(limiter, 10 * MILLIS, false);
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 10);
+        
+        for (int i = 0; i < 5; i++) {
+            round(limiter, 100 * MILLIS, false);
+        }
+        assertTrue(limiter.limit() < grown);
+    }
+    
+    @Test
+    @DisplayName("Gradient should shrink when latency rises above the long-term average")
+    void testGradient() throws Exception {
+        AdaptiveLimiter limiter = limiter(LimitAlgorithm.GRADIENT);
+        for (int i = 0; i < 20; i++) {
+            round(limiter, 10 * MILLIS, false);
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 10);
+        
+        for (int i = 0; i < 3; i++) {
+            round(limiter, 100 * MILLIS, false);
+        }
+        assertTrue(limiter.limit() < grown);
+    }
+    
+    @Test
+    @DisplayName("Should never exceed the limit of requests in flight")
+    void testCapsRequestsInFlight() throws Exception {
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                current.decrementAndGet();
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": true}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .adaptiveConcurrencyLimit(AdaptiveLimitConfig.builder()
+                        .algorithm(LimitAlgorithm.AIMD)
+                        .initialLimit(2)
+                        .maxLimit(2)
+                        .build())
+                .build();
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(client.async().health().getHealth());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        
+        assertEquals(2, peak.get());
+        assertEquals(2, client.concurrencyLimit());
+    }
+    
+    @Test
+    @DisplayName("Should shrink the limit when the server signals overload")
+    void testShrinksOnOverload() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .adaptiveConcurrencyLimit(AdaptiveLimitConfig.builder()
+                        .algorithm(LimitAlgorithm.AIMD)
+                        .initialLimit(20)
+                        .backoffRatio(0.5)
+                        .build())
+                .build();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        
+        assertEquals(503, client.health().getHealth().execute().code());
+        assertEquals(10, client.concurrencyLimit());
+    }
+    
+    private ListmonkClient singleSlotClient() {
+        return ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .adaptiveConcurrencyLimit(AdaptiveLimitConfig.builder()
+                        .initialLimit(1)
+                        .minLimit(1)
+                        .maxLimit(1)
+                        .build())
+                .build();
+    }
+    
+    @Test
+    @DisplayName("Should give up waiting for a slot after the read timeout")
+    void testWaitHonoursTimeout() throws Exception {
+        ListmonkClient client = singleSlotClient();
+        mockWebServer.enqueue(new MockResponse().setHeadersDelay(1, TimeUnit.SECONDS).setBody("{\"data\": true}"));
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.health().getHealth().execute().code();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (mockWebServer.getRequestCount() < 1) {
+            Thread.sleep(10);
+        }
+        
+        long start = System.nanoTime();
+        assertThrows(SocketTimeoutException.class,
+                () -> client.withReadTimeout(Duration.ofMillis(200)).health().getHealth().execute());
+        assertTrue(System.nanoTime() - start < 800 * MILLIS);
+        assertEquals(200, slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should stop waiting for a slot when the call is cancelled")
+    void testWaitHonoursCancellation() throws Exception {
+        ListmonkClient client = singleSlotClient();
+        mockWebServer.enqueue(new MockResponse().setHeadersDelay(1, TimeUnit.SECONDS).setBody("{\"data\": true}"));
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.health().getHealth().execute().code();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (mockWebServer.getRequestCount() < 1) {
+            Thread.sleep(10);
+        }
+        
+        retrofit2.Call<?> waiting = client.health().getHealth();
+        CompletableFuture<Void> execution = CompletableFuture.runAsync(() -> {
+            try {
+                waiting.execute();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        waiting.cancel();
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> execution.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InterruptedIOException.class, e.getCause().getCause());
+        assertTrue(System.nanoTime() - start < 500 * MILLIS);
+        assertEquals(200, slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+}
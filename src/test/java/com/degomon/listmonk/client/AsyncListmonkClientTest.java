@@ -0,0 +1,135 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the asynchronous client view.
+ */
+class AsyncListmonkClientTest {
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        
+        String baseUrl = mockWebServer.url("/api/").toString();
+        client = ListmonkClient.builder(baseUrl)
+                .basicAuth("admin", "password")
+                .build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should complete future with unwrapped subscriber")
+    void testGetSubscriberByIdAsync() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": {\"id\": 7, \"email\": \"async@example.com\"}}")
+                .setHeader("Content-Type", "application/json"));
+        
+        Subscriber subscriber = client.async().subscribers()
+                .getSubscriberById(7L)
+                .get(5, TimeUnit.SECONDS);
+        
+        assertEquals(7L, subscriber.getId());
+        assertEquals("async@example.com", subscriber.getEmail());
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("/api/subscribers/7", request.getPath());
+        assertNotNull(request.getHeader("Authorization"));
+    }
+    
+    @Test
+    @DisplayName("Should fan out multiple in-flight calls")
+    void testConcurrentCalls() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody("{\"data\": [{\"id\": 1, \"name\": \"List\"}]}")
+                    .setHeader("Content-Type", "application/json"));
+        }
+        
+        List<CompletableFuture<List<MailingList>>> futures = List.of(
+                client.async().lists().getLists(1, 10, null, null, null),
+                client.async().lists().getLists(2, 10, null, null, null),
+                client.async().lists().getLists(3, 10, null, null, null));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        
+        for (CompletableFuture<List<MailingList>> future : futures) {
+            assertEquals("List", future.join().get(0).getName());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should send transactional message asynchronously")
+    void testSendTransactionalMessageAsync() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json"));
+        
+        TransactionalMessage message = TransactionalMessage.builder(2L)
+                .subscriberEmail("user@example.com")
+                .build();
+        
+        assertTrue(client.async().transactional()
+                .sendTransactionalMessage(message)
+                .get(5, TimeUnit.SECONDS));
+        assertEquals("/api/tx", mockWebServer.takeRequest().getPath());
+    }
+    
+    @Test
+    @DisplayName("Should complete exceptionally on API error")
+    void testErrorResponse() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"message\": \"Subscriber not found\"}")
+                .setHeader("Content-Type", "application/json"));
+        
+        CompletableFuture<Subscriber> future = client.async().subscribers().getSubscriberById(999L);
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        ListmonkException cause = assertInstanceOf(ListmonkException.class, e.getCause());
+        assertEquals(404, cause.getStatusCode());
+        assertTrue(cause.getErrorBody().contains("Subscriber not found"));
+    }
+}
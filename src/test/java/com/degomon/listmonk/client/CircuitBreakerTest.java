@@ -0,0 +1,191 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.service.SubscriberService;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.*;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-method circuit breakers.
+ */
+class CircuitBreakerTest {
+    
+    private static final String SUBSCRIBER_BY_ID = "SubscriberService.getSubscriberById";
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private ListmonkClient client(CircuitBreakerConfig.Builder config) {
+        return ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .circuitBreaker(config.slidingWindowSize(4).minimumCalls(4).build())
+                .build();
+    }
+    
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setBody(body)
+                .setHeader("Content-Type", "application/json");
+    }
+    
+    private static MockResponse subscriber() {
+        return json(200, "{\"data\": {\"id\": 1, \"email\": \"user@example.com\"}}");
+    }
+    
+    private void openCircuit(ListmonkClient client) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(json(i % 2 == 0 ? 500 : 200, "{\"data\": {\"id\": 1}}"));
+            client.subscribers().getSubscriberById(1L).execute();
+        }
+        assertEquals(CircuitState.OPEN, client.circuitStates().get(SUBSCRIBER_BY_ID));
+    }
+    
+    @Test
+    @DisplayName("Should open after the failure rate threshold and fail fast")
+    void testOpensOnFailures() throws Exception {
+        ListmonkClient client = client(CircuitBreakerConfig.builder().openDuration(Duration.ofHours(1)));
+        openCircuit(client);
+        
+        CircuitOpenException e = assertThrows(CircuitOpenException.class,
+                () -> client.subscribers().getSubscriberById(1L).execute());
+        assertEquals(SUBSCRIBER_BY_ID, e.getCircuit());
+        assertEquals(4, mockWebServer.getRequestCount());
+        
+        // Other methods have their own circuits
+        mockWebServer.enqueue(json(200, "{\"data\": []}"));
+        assertTrue(client.lists().getLists(null, null, null, null, null).execute().isSuccessful());
+        assertEquals(CircuitState.CLOSED, client.circuitStates().get("ListService.getLists"));
+    }
+    
+    @Test
+    @DisplayName("Should fail asynchronous calls with CircuitOpenException")
+    void testAsyncFailsFast() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .circuitBreaker(CircuitBreakerConfig.builder().slidingWindowSize(1).minimumCalls(1).build())
+                .build();
+        mockWebServer.enqueue(json(503, "{}"));
+        assertThrows(ExecutionException.class,
+                () -> client.async().subscribers().getSubscriberById(1L).get(5, TimeUnit.SECONDS));
+        
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.async().subscribers().getSubscriberById(1L).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CircuitOpenException.class, e.getCause());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should close after a successful health probe")
+    void testClosesAfterHealthyProbe() throws Exception {
+        ListmonkClient client = client(CircuitBreakerConfig.builder().openDuration(Duration.ofMillis(50)));
+        openCircuit(client);
+        Thread.sleep(100);
+        
+        mockWebServer.enqueue(json(200, "{\"data\": true}"));
+        mockWebServer.enqueue(subscriber());
+        assertTrue(client.subscribers().getSubscriberById(1L).execute().isSuccessful());
+        
+        assertEquals(CircuitState.CLOSED, client.circuitStates().get(SUBSCRIBER_BY_ID));
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/api/health", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+    
+    @Test
+    @DisplayName("Should stay open when the health probe fails")
+    void testStaysOpenAfterFailedProbe() throws Exception {
+        ListmonkClient client = client(CircuitBreakerConfig.builder().openDuration(Duration.ofMillis(50)));
+        openCircuit(client);
+        Thread.sleep(100);
+        
+        mockWebServer.enqueue(json(503, "{}"));
+        assertThrows(CircuitOpenException.class, () -> client.subscribers().getSubscriberById(1L).execute());
+        assertEquals(CircuitState.OPEN, client.circuitStates().get(SUBSCRIBER_BY_ID));
+        assertEquals(5, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should reopen when the health probe throws")
+    void testReopensWhenProbeThrows() throws Exception {
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(CircuitBreakerConfig.builder()
+                .slidingWindowSize(4).minimumCalls(4).openDuration(Duration.ofMillis(50)).build());
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/api/subscribers/1"))
+                .tag(Invocation.class, Invocation.of(
+                        SubscriberService.class.getMethod("getSubscriberById", Long.class), List.of(1L)))
+                .build();
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(json(i % 2 == 0 ? 500 : 200, "{}"));
+            httpClient.newCall(request).execute().close();
+        }
+        assertEquals(CircuitState.OPEN, interceptor.states().get(SUBSCRIBER_BY_ID));
+        Thread.sleep(100);
+        
+        interceptor.probe(() -> {
+            throw new IllegalStateException("probe failed");
+        });
+        assertThrows(IllegalStateException.class, () -> httpClient.newCall(request).execute());
+        assertEquals(CircuitState.OPEN, interceptor.states().get(SUBSCRIBER_BY_ID));
+        Thread.sleep(100);
+        
+        interceptor.probe(() -> true);
+        mockWebServer.enqueue(subscriber());
+        httpClient.newCall(request).execute().close();
+        assertEquals(CircuitState.CLOSED, interceptor.states().get(SUBSCRIBER_BY_ID));
+    }
+    
+    @Test
+    @DisplayName("Should open when too many calls are slow")
+    void testOpensOnSlowCalls() throws Exception {
+        ListmonkClient client = client(CircuitBreakerConfig.builder()
+                .slowCallDuration(Duration.ofMillis(50))
+                .slowCallRateThreshold(0.5));
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(subscriber().setHeadersDelay(i < 2 ? 100 : 0, TimeUnit.MILLISECONDS));
+            assertTrue(client.subscribers().getSubscriberById(1L).execute().isSuccessful());
+        }
+        
+        assertEquals(CircuitState.OPEN, client.circuitStates().get(SUBSCRIBER_BY_ID));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.Credentials;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for client views with per-call overrides.
+ */
+class ClientViewTest {
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .basicAuth("admin", "admin")
+                .build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should apply the read timeout of a view only to its calls")
+    void testReadTimeout() throws Exception {
+        ListmonkClient fast = client.withReadTimeout(Duration.ofMillis(100));
+        mockWebServer.enqueue(healthResponse().setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        mockWebServer.enqueue(healthResponse().setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        mockWebServer.enqueue(healthResponse().setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        
+        assertThrows(SocketTimeoutException.class, () -> fast.health().getHealth().execute());
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> fast.async().health().getHealth().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SocketTimeoutException.class, error.getCause());
+        assertTrue(client.health().getHealth().execute().isSuccessful());
+    }
+    
+    @Test
+    @DisplayName("Should authenticate calls of a view with its own credentials")
+    void testAuth() throws Exception {
+        mockWebServer.enqueue(healthResponse());
+        mockWebServer.enqueue(healthResponse());
+        
+        client.withAuth("tenant", "secret").health().getHealth().execute();
+        client.health().getHealth().execute();
+        
+        RecordedRequest viewRequest = mockWebServer.takeRequest();
+        RecordedRequest clientRequest = mockWebServer.takeRequest();
+        assertEquals(Credentials.basic("tenant", "secret"), viewRequest.getHeader("Authorization"));
+        assertEquals(Credentials.basic("admin", "admin"), clientRequest.getHeader("Authorization"));
+    }
+    
+    @Test
+    @DisplayName("Should combine overrides of derived views, the latest taking precedence")
+    void testDerivedViews() throws Exception {
+        ListmonkClient view = client.withAuth("first", "secret")
+                .withTag(String.class, "export-job")
+                .withAuth("second", "secret");
+        mockWebServer.enqueue(healthResponse());
+        
+        Call<?> call = view.health().getHealth();
+        assertEquals("export-job", call.request().tag(String.class));
+        call.execute();
+        
+        assertEquals(Credentials.basic("second", "secret"),
+                mockWebServer.takeRequest().getHeader("Authorization"));
+        assertNull(client.health().getHealth().request().tag(String.class));
+    }
+    
+    @Test
+    @DisplayName("Should not apply a view's overrides to calls nested inside its calls")
+    void testNestedCallsKeepClientSettings() throws Exception {
+        ListmonkClient guarded = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .basicAuth("admin", "admin")
+                .circuitBreaker(CircuitBreakerConfig.builder()
+                        .slidingWindowSize(2).minimumCalls(2).openDuration(Duration.ofMillis(50)).build())
+                .build();
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+            guarded.subscribers().getSubscriberById(1L).execute();
+            mockWebServer.takeRequest();
+        }
+        Thread.sleep(100);
+        
+        // The health probe runs on the caller's thread, inside the view's call
+        mockWebServer.enqueue(healthResponse().setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": {\"id\": 1, \"email\": \"user@example.com\"}}")
+                .setHeader("Content-Type", "application/json"));
+        assertTrue(guarded.withAuth("tenant", "secret").withReadTimeout(Duration.ofMillis(200))
+                .subscribers().getSubscriberById(1L).execute().isSuccessful());
+        
+        RecordedRequest probe = mockWebServer.takeRequest();
+        RecordedRequest viewRequest = mockWebServer.takeRequest();
+        assertEquals("/api/health", probe.getPath());
+        assertEquals(Credentials.basic("admin", "admin"), probe.getHeader("Authorization"));
+        assertEquals(Credentials.basic("tenant", "secret"), viewRequest.getHeader("Authorization"));
+    }
+    
+    private static MockResponse healthResponse() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json");
+    }
+}
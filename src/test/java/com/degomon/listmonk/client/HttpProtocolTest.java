@@ -0,0 +1,128 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for selecting the HTTP protocol.
+ */
+class HttpProtocolTest {
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                Thread.sleep(20);
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": true}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should multiplex concurrent requests over h2c")
+    void testH2cPriorKnowledge() throws Exception {
+        mockWebServer.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        mockWebServer.start();
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .httpProtocol(HttpProtocol.H2C)
+                .maxConcurrentStreams(50)
+                .build();
+        
+        Response<ApiResponse<Boolean>> response = client.health().getHealth().execute();
+        assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, response.raw().protocol());
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            futures.add(client.async().health().getHealth());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        
+        // Every request after the first reuses the connection it opened
+        int connections = 0;
+        for (int i = 0; i < 31; i++) {
+            if (mockWebServer.takeRequest(1, TimeUnit.SECONDS).getSequenceNumber() == 0) {
+                connections++;
+            }
+        }
+        assertEquals(1, connections);
+    }
+    
+    @Test
+    @DisplayName("Should restrict the client to HTTP/1.1 when requested")
+    void testHttp11() throws Exception {
+        mockWebServer.start();
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .httpProtocol(HttpProtocol.HTTP_1_1)
+                .build();
+        
+        assertEquals(Protocol.HTTP_1_1, client.health().getHealth().execute().raw().protocol());
+    }
+    
+    @Test
+    @DisplayName("Should reject h2c with an HTTPS base URL")
+    void testH2cRequiresCleartext() {
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder("https://listmonk.example.com/api")
+                .httpProtocol(HttpProtocol.H2C)
+                .build());
+    }
+    
+    @Test
+    @DisplayName("Should reject a stream limit that a shared transport would ignore")
+    void testRejectsStreamsWithTransport() {
+        try (ListmonkTransport transport = ListmonkTransport.builder().build()) {
+            assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder("http://localhost:9000/api")
+                    .transport(transport)
+                    .httpProtocol(HttpProtocol.H2C)
+                    .maxConcurrentStreams(50)
+                    .build());
+            assertNotNull(ListmonkClient.builder("http://localhost:9000/api")
+                    .transport(transport)
+                    .httpProtocol(HttpProtocol.H2C)
+                    .build());
+        }
+    }
+}
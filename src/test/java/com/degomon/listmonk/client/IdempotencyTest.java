@@ -0,0 +1,170 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for idempotency-key deduplication of transactional sends.
+ */
+class IdempotencyTest {
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .idempotencyWindow(Duration.ofHours(1), 1000)
+                .build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private static MockResponse ok() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json");
+    }
+    
+    private static TransactionalMessage receipt(String key) {
+        return TransactionalMessage.builder(2L)
+                .subscriberEmail("user@example.com")
+                .idempotencyKey(key)
+                .build();
+    }
+    
+    @Test
+    @DisplayName("Should answer repeated keys locally")
+    void testDeduplicatesRepeats() throws Exception {
+        mockWebServer.enqueue(ok());
+        
+        Response<ApiResponse<Boolean>> first = client.transactional().sendTransactionalMessage(receipt("order-1")).execute();
+        Response<ApiResponse<Boolean>> repeat = client.transactional().sendTransactionalMessage(receipt("order-1")).execute();
+        Boolean async = client.async().transactional().sendTransactionalMessage(receipt("order-1")).get();
+        
+        assertTrue(first.body().getData());
+        assertTrue(repeat.body().getData());
+        assertEquals("true", repeat.headers().get(IdempotencyInterceptor.DEDUPLICATED_HEADER));
+        assertTrue(async);
+        assertEquals(1, mockWebServer.getRequestCount());
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertFalse(request.getBody().readUtf8().contains("order-1"));
+    }
+    
+    @Test
+    @DisplayName("Should send messages with different or missing keys")
+    void testDistinctKeys() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(ok());
+        }
+        
+        client.transactional().sendTransactionalMessage(receipt("order-1")).execute();
+        client.transactional().sendTransactionalMessage(receipt("order-2")).execute();
+        client.transactional().sendTransactionalMessage(receipt(null)).execute();
+        client.transactional().sendTransactionalMessage(receipt(null)).execute();
+        
+        assertEquals(4, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should not remember keys of failed sends")
+    void testFailedSendsAreRetried() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(ok());
+        
+        assertEquals(503, client.transactional().sendTransactionalMessage(receipt("order-1")).execute().code());
+        assertTrue(client.transactional().sendTransactionalMessage(receipt("order-1")).execute().isSuccessful());
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should forget fingerprints after the window")
+    void testFingerprintWindow() {
+        AtomicLong now = new AtomicLong();
+        FingerprintSet set = new FingerprintSet(100, 4, now::get);
+        long a = FingerprintSet.fingerprint("a");
+        long b = FingerprintSet.fingerprint("b");
+        
+        set.add(a);
+        now.set(150);
+        set.add(b);
+        assertTrue(set.contains(a));
+        assertTrue(set.contains(b));
+        
+        now.set(260);
+        assertFalse(set.contains(a));
+        assertTrue(set.contains(b));
+        
+        now.set(1000);
+        assertFalse(set.contains(b));
+    }
+    
+    @Test
+    @DisplayName("Should forget the oldest generation once a generation is full")
+    void testFingerprintCapacity() {
+        FingerprintSet set = new FingerprintSet(Long.MAX_VALUE / 4, 2, () -> 0L);
+        for (int i = 0; i < 5; i++) {
+            set.add(FingerprintSet.fingerprint("key" + i));
+        }
+        
+        // key0 and key1 filled the first generation, which was dropped when key4 arrived
+        assertFalse(set.contains(FingerprintSet.fingerprint("key0")));
+        assertFalse(set.contains(FingerprintSet.fingerprint("key1")));
+        assertTrue(set.contains(FingerprintSet.fingerprint("key2")));
+        assertTrue(set.contains(FingerprintSet.fingerprint("key3")));
+        assertTrue(set.contains(FingerprintSet.fingerprint("key4")));
+    }
+    
+    @Test
+    @DisplayName("Should size fingerprint tables by the keys stored rather than the maximum")
+    void testFingerprintTablesGrowOnDemand() {
+        FingerprintSet set = new FingerprintSet(Long.MAX_VALUE / 4, FingerprintSet.MAX_KEYS, () -> 0L);
+        assertEquals(FingerprintSet.INITIAL_CAPACITY, set.capacity());
+        
+        for (int i = 0; i < 1000; i++) {
+            set.add(FingerprintSet.fingerprint("key" + i));
+        }
+        assertEquals(2048, set.capacity());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(FingerprintSet.fingerprint("key" + i)));
+        }
+        assertFalse(set.contains(FingerprintSet.fingerprint("key1000")));
+    }
+}
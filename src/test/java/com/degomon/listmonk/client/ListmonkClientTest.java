@@ -33,6 +33,7 @@ import retrofit2.Response;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -252,4 +253,48 @@ class ListmonkClientTest {
         
         assertNotNull(clientWithNormalizedUrl);
     }
+    
+    @Test
+    @DisplayName("Should execute async calls on a configured dispatcher")
+    void testVirtualThreadDispatcher() throws Exception {
+        // On Java 17 this covers the platform-thread fallback; VirtualThreadsTest covers Java 21
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json"));
+        
+        String baseUrl = mockWebServer.url("/api/").toString();
+        ListmonkClient dispatcherClient = ListmonkClient.builder(baseUrl)
+                .virtualThreads(true)
+                .maxRequests(1000)
+                .maxRequestsPerHost(500)
+                .build();
+        
+        assertEquals(true, dispatcherClient.async().health().getHealth().get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    @DisplayName("Builder should reject non-positive request limits")
+    void testBuilderRejectsInvalidRequestLimits() {
+        String baseUrl = mockWebServer.url("/api/").toString();
+        
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder(baseUrl).maxRequests(0));
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder(baseUrl).maxRequestsPerHost(0));
+    }
+    
+    @Test
+    @DisplayName("Should decode unwrapped subscriber data directly")
+    void testGetSubscriberByIdUnwrapped() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"meta\": {\"skip\": [1, 2]}, \"data\": {\"id\": 3, \"email\": \"u@example.com\"}}")
+                .setHeader("Content-Type", "application/json"));
+        
+        Response<Subscriber> response = client.subscribers().getSubscriberByIdUnwrapped(3L).execute();
+        
+        assertTrue(response.isSuccessful());
+        assertEquals(3L, response.body().getId());
+        assertEquals("u@example.com", response.body().getEmail());
+        assertEquals("/api/subscribers/3", mockWebServer.takeRequest().getPath());
+    }
 }
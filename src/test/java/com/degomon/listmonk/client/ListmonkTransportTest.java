@@ -0,0 +1,160 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ListmonkTransport.
+ */
+class ListmonkTransportTest {
+    
+    private MockWebServer mockWebServer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": true}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should share one connection pool and dispatcher between clients")
+    void testSharedPool() throws Exception {
+        try (ListmonkTransport transport = ListmonkTransport.builder().build()) {
+            for (int i = 0; i < 40; i++) {
+                ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                        .basicAuth("tenant" + i, "secret")
+                        .transport(transport)
+                        .build();
+                assertTrue(client.health().getHealth().execute().isSuccessful());
+                assertTrue(client.async().health().getHealth().get(5, TimeUnit.SECONDS));
+            }
+            
+            assertEquals(1, transport.connectionPool().connectionCount());
+            assertEquals(80, mockWebServer.getRequestCount());
+            assertEquals("Basic dGVuYW50Mzk6c2VjcmV0", lastRequest().getHeader("Authorization"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should cap requests on the network across all clients")
+    void testGlobalLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        try (ListmonkTransport transport = ListmonkTransport.builder().maxRequests(3).build()) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                        .transport(transport)
+                        .build();
+                results.add(executor.submit(() -> client.health().getHealth().execute().isSuccessful()));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+            
+            assertEquals(3, maxInFlight.get());
+            assertEquals(3, transport.availableExchanges());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should stop waiting for a permit held by an unclosed body at the connect timeout")
+    void testPermitWaitIsBounded() throws Exception {
+        try (ListmonkTransport transport = ListmonkTransport.builder().maxRequests(1).build()) {
+            OkHttpClient httpClient = transport.httpClient().newBuilder()
+                    .connectTimeout(200, TimeUnit.MILLISECONDS)
+                    .build();
+            Request request = new Request.Builder().url(mockWebServer.url("/api/health")).build();
+            
+            Response held = httpClient.newCall(request).execute();
+            assertEquals(0, transport.availableExchanges());
+            long started = System.nanoTime();
+            assertThrows(InterruptedIOException.class, () -> httpClient.newCall(request).execute());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2000);
+            
+            held.close();
+            assertEquals(1, transport.availableExchanges());
+            try (Response response = httpClient.newCall(request).execute()) {
+                assertTrue(response.isSuccessful());
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Should reject dispatcher options on a client with a shared transport")
+    void testRejectsDispatcherOptions() {
+        try (ListmonkTransport transport = ListmonkTransport.builder().build()) {
+            assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder("http://localhost:9000/api")
+                    .transport(transport)
+                    .maxRequests(10)
+                    .build());
+        }
+    }
+    
+    private RecordedRequest lastRequest() throws InterruptedException {
+        RecordedRequest request = null;
+        for (int i = mockWebServer.getRequestCount(); i > 0; i--) {
+            request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        }
+        return request;
+    }
+}
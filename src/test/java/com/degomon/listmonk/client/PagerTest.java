@@ -0,0 +1,235 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.service.TrafficClass;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for iterating over paginated endpoints.
+ */
+class PagerTest {
+    
+    private static final int TOTAL = 5;
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    private volatile int failingPage = 0;
+    private volatile long laterPageDelayMillis = 0;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                int page = Integer.parseInt(request.getRequestUrl().queryParameter("page"));
+                int perPage = Integer.parseInt(request.getRequestUrl().queryParameter("per_page"));
+                if (page == failingPage) {
+                    return new MockResponse().setResponseCode(500).setBody("{\"message\": \"error\"}");
+                }
+                String query = request.getRequestUrl().queryParameter("query");
+                int first = (page - 1) * perPage + 1;
+                if (query != null && query.contains("subscribers.id > ")) {
+                    first = Integer.parseInt(query.substring(query.indexOf("subscribers.id > ") + 17)) + 1;
+                }
+                StringBuilder items = new StringBuilder();
+                for (int id = first; id <= Math.min(first + perPage - 1, TOTAL); id++) {
+                    if (items.length() > 0) {
+                        items.append(',');
+                    }
+                    items.append("{\"id\": ").append(id).append(", \"name\": \"Item ").append(id).append("\"}");
+                }
+                String body = "{\"data\": {\"results\": [" + items + "], \"total\": " + TOTAL
+                        + ", \"page\": " + page + ", \"per_page\": " + perPage + "}}";
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(body)
+                        .setHeader("Content-Type", "application/json")
+                        .setHeadersDelay(page > 1 ? laterPageDelayMillis : 0, TimeUnit.MILLISECONDS);
+            }
+        });
+        mockWebServer.start();
+        
+        String baseUrl = mockWebServer.url("/api/").toString();
+        client = ListmonkClient.builder(baseUrl).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should iterate over every page of subscribers")
+    void testIterateSubscribers() {
+        try (Stream<Subscriber> stream = client.pager().subscribers(2, null, null).stream()) {
+            List<Long> ids = stream.map(Subscriber::getId).collect(Collectors.toList());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should stop at the reported total without prefetching")
+    void testSequentialPaging() {
+        PagedIterator<Subscriber> iterator = client.pager().prefetch(0).subscribers(2, null, null);
+        
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        
+        assertEquals(TOTAL, count);
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should iterate over lists with deep prefetch")
+    void testIterateListsWithPrefetch() {
+        try (Stream<?> stream = client.pager().prefetch(4).lists(1, null).stream()) {
+            assertEquals(TOTAL, stream.count());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should export all subscribers with parallel page requests")
+    void testExportSubscribers() throws Exception {
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        
+        long count = client.pager()
+                .concurrency(2)
+                .exportSubscribers(2, null, null, page -> page.forEach(s -> ids.add(s.getId())))
+                .get(5, TimeUnit.SECONDS);
+        
+        assertEquals(TOTAL, count);
+        Collections.sort(ids);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        assertEquals(3, mockWebServer.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            assertEquals("id", request.getRequestUrl().queryParameter("order_by"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should export a single page without further requests")
+    void testExportSinglePage() throws Exception {
+        long count = client.pager()
+                .exportLists(10, null, page -> assertEquals(TOTAL, page.size()))
+                .get(5, TimeUnit.SECONDS);
+        
+        assertEquals(TOTAL, count);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should stop delivering pages once a parallel export has failed")
+    void testExportFailureStopsDelivery() throws Exception {
+        failingPage = 2;
+        laterPageDelayMillis = 200;
+        AtomicInteger pages = new AtomicInteger();
+        
+        CompletableFuture<Long> export = client.pager()
+                .concurrency(4)
+                .exportSubscribers(1, null, null, page -> pages.incrementAndGet());
+        
+        ExecutionException error = assertThrows(ExecutionException.class, () -> export.get(5, TimeUnit.SECONDS));
+        assertEquals(500, assertInstanceOf(ListmonkException.class, error.getCause()).getStatusCode());
+        Thread.sleep(400);
+        assertEquals(1, pages.get());
+    }
+    
+    @Test
+    @DisplayName("Should cancel the requests in flight when a parallel export is cancelled")
+    void testExportCancellation() throws Exception {
+        laterPageDelayMillis = 2000;
+        ListmonkClient laneClient = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .trafficLane(TrafficClass.BULK, 8, 1)
+                .build();
+        okhttp3.Dispatcher bulk = laneClient.dispatcher(TrafficClass.BULK);
+        AtomicInteger pages = new AtomicInteger();
+        
+        CompletableFuture<Long> export = laneClient.pager()
+                .concurrency(4)
+                .exportSubscribers(1, null, null, page -> pages.incrementAndGet());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mockWebServer.getRequestCount() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(5, mockWebServer.getRequestCount());
+        assertTrue(bulk.runningCallsCount() > 0);
+        
+        assertTrue(export.cancel(true));
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (bulk.runningCallsCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, bulk.runningCallsCount());
+        assertEquals(1, pages.get());
+    }
+    
+    @Test
+    @DisplayName("Should scan subscribers by key instead of page number")
+    void testKeysetScan() throws Exception {
+        String query = "subscribers.status = 'enabled'";
+        try (KeysetIterator<Subscriber> iterator = client.pager().scanSubscribers(2, query, null)) {
+            List<Long> ids = new ArrayList<>();
+            iterator.forEachRemaining(s -> ids.add(s.getId()));
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        }
+        
+        RecordedRequest first = mockWebServer.takeRequest();
+        assertEquals("1", first.getRequestUrl().queryParameter("page"));
+        assertEquals("id", first.getRequestUrl().queryParameter("order_by"));
+        assertEquals("(subscribers.status = 'enabled') AND subscribers.id > 0",
+                first.getRequestUrl().queryParameter("query"));
+        assertEquals("(subscribers.status = 'enabled') AND subscribers.id > 2",
+                mockWebServer.takeRequest().getRequestUrl().queryParameter("query"));
+        assertEquals("(subscribers.status = 'enabled') AND subscribers.id > 4",
+                mockWebServer.takeRequest().getRequestUrl().queryParameter("query"));
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid page sizes")
+    void testRejectsInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> client.pager().campaigns(0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> client.pager().prefetch(-1));
+        assertThrows(IllegalArgumentException.class, () -> client.pager().concurrency(0));
+    }
+}
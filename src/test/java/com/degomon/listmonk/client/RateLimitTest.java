@@ -0,0 +1,155 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.SubscriberService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for client-side rate limiting.
+ */
+class RateLimitTest {
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/api/subscribers/")
+                        ? "{\"data\": {\"id\": 1, \"email\": \"user@example.com\"}}"
+                        : request.getPath().startsWith("/api/lists") ? "{\"data\": []}" : "{\"data\": true}";
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(body)
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private ListmonkClient.Builder builder() {
+        return ListmonkClient.builder(mockWebServer.url("/api/").toString());
+    }
+    
+    @Test
+    @DisplayName("Should pace synchronous calls to the configured rate")
+    void testPacesSynchronousCalls() throws Exception {
+        ListmonkClient client = builder().rateLimit(SubscriberService.class, 20, 1).build();
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(client.subscribers().getSubscriberById(1L).execute().isSuccessful());
+        }
+        
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+    }
+    
+    @Test
+    @DisplayName("Should pace asynchronous calls without failing them")
+    void testPacesAsynchronousCalls() throws Exception {
+        ListmonkClient client = builder().rateLimit(SubscriberService.class, 20, 1).build();
+        
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(client.async().subscribers().getSubscriberById(1L));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should fail calls that would wait longer than the maximum")
+    void testMaxWait() throws Exception {
+        ListmonkClient client = builder()
+                .rateLimit(SubscriberService.class, 1, 1)
+                .rateLimitMaxWait(Duration.ZERO)
+                .build();
+        
+        assertTrue(client.subscribers().getSubscriberById(1L).execute().isSuccessful());
+        assertThrows(RateLimitExceededException.class, () -> client.subscribers().getSubscriberById(1L).execute());
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.async().subscribers().getSubscriberById(1L).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RateLimitExceededException.class, e.getCause());
+        
+        // Other services are not limited
+        assertTrue(client.lists().getLists(null, null, null, null, null).execute().isSuccessful());
+        assertTrue(client.lists().getLists(null, null, null, null, null).execute().isSuccessful());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should limit calls by HTTP method")
+    void testLimitsByHttpMethod() throws Exception {
+        ListmonkClient client = builder()
+                .rateLimit("post", 1, 1)
+                .rateLimitMaxWait(Duration.ZERO)
+                .build();
+        TransactionalMessage message = TransactionalMessage.builder(2L).subscriberEmail("user@example.com").build();
+        
+        assertTrue(client.transactional().sendTransactionalMessage(message).execute().isSuccessful());
+        assertThrows(RateLimitExceededException.class,
+                () -> client.transactional().sendTransactionalMessage(message).execute());
+        assertTrue(client.health().getHealth().execute().isSuccessful());
+    }
+    
+    @Test
+    @DisplayName("Should allow a burst and then one permit per interval")
+    void testTokenBucket() {
+        AtomicLong now = new AtomicLong(1_000);
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        
+        assertEquals(0, bucket.reserve(Long.MAX_VALUE));
+        assertEquals(0, bucket.reserve(Long.MAX_VALUE));
+        assertEquals(interval, bucket.reserve(Long.MAX_VALUE));
+        assertEquals(-1, bucket.reserve(interval));
+        
+        now.addAndGet(4 * interval);
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0));
+    }
+}
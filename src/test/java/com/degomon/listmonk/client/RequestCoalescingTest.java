@@ -0,0 +1,180 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.Campaign;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for coalescing concurrent identical GET requests.
+ */
+class RequestCoalescingTest {
+    
+    private static final int THREADS = 8;
+    
+    private MockWebServer mockWebServer;
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": {\"id\": 1, \"name\": \"Launch\"}}")
+                        .setHeader("Content-Type", "application/json")
+                        .setHeadersDelay(500, TimeUnit.MILLISECONDS);
+            }
+        });
+        mockWebServer.start();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should share one request between concurrent identical lookups")
+    void testConcurrentLookupsShareRequest() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .coalesceRequests(true)
+                .build();
+        
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response<ApiResponse<Campaign>>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return client.campaigns().getCampaignById(1L).execute();
+            }));
+        }
+        start.countDown();
+        
+        for (Future<Response<ApiResponse<Campaign>>> future : futures) {
+            Response<ApiResponse<Campaign>> response = future.get(10, TimeUnit.SECONDS);
+            assertTrue(response.isSuccessful());
+            assertEquals("Launch", response.body().getData().getName());
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should issue a new request once the shared one has completed")
+    void testSequentialLookupsAreNotShared() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .coalesceRequests(true)
+                .build();
+        
+        client.campaigns().getCampaignById(1L).execute();
+        client.campaigns().getCampaignById(1L).execute();
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should stop waiting for a shared request at the waiter's own read timeout")
+    void testWaiterHonoursItsReadTimeout() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .coalesceRequests(true)
+                .build();
+        
+        Future<Response<ApiResponse<Campaign>>> leader =
+                executor.submit(() -> client.campaigns().getCampaignById(1L).execute());
+        Thread.sleep(100);
+        
+        long started = System.nanoTime();
+        assertThrows(SocketTimeoutException.class, () -> client.withReadTimeout(Duration.ofMillis(150))
+                .campaigns().getCampaignById(1L).execute());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 350);
+        
+        assertTrue(leader.get(10, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should perform the request itself when the shared call is cancelled")
+    void testWaiterRetriesAfterLeaderCancellation() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .coalesceRequests(true)
+                .build();
+        
+        Call<ApiResponse<Campaign>> leaderCall = client.campaigns().getCampaignById(1L);
+        Future<Response<ApiResponse<Campaign>>> leader = executor.submit(leaderCall::execute);
+        Thread.sleep(100);
+        Future<Response<ApiResponse<Campaign>>> waiter =
+                executor.submit(() -> client.campaigns().getCampaignById(1L).execute());
+        Thread.sleep(100);
+        leaderCall.cancel();
+        
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failure.getCause());
+        Response<ApiResponse<Campaign>> response = waiter.get(10, TimeUnit.SECONDS);
+        assertTrue(response.isSuccessful());
+        assertEquals("Launch", response.body().getData().getName());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should give waiters the shared call's original exception type")
+    void testWaiterReceivesOriginalException() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .coalesceRequests(true)
+                .build();
+        
+        Future<Response<ApiResponse<Campaign>>> leader = executor.submit(() -> client
+                .withReadTimeout(Duration.ofMillis(200)).campaigns().getCampaignById(1L).execute());
+        Thread.sleep(50);
+        Future<Response<ApiResponse<Campaign>>> waiter =
+                executor.submit(() -> client.campaigns().getCampaignById(1L).execute());
+        
+        ExecutionException leaderFailure =
+                assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SocketTimeoutException.class, leaderFailure.getCause());
+        ExecutionException waiterFailure =
+                assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SocketTimeoutException.class, waiterFailure.getCause());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.ListRequest;
+import com.degomon.listmonk.model.MailingList;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the by-ID lookup cache.
+ */
+class ResponseCacheTest {
+    
+    private MockWebServer mockWebServer;
+    private String baseUrl;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String id = request.getRequestUrl().pathSegments().get(2);
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": {\"id\": " + id + ", \"name\": \"List " + id + "\"}}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+        baseUrl = mockWebServer.url("/api/").toString();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void testCacheHit() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .basicAuth("admin", "password")
+                .cache(CacheConfig.builder().build())
+                .build();
+        
+        for (int i = 0; i < 3; i++) {
+            Response<ApiResponse<MailingList>> response = client.lists().getListById(1L).execute();
+            assertTrue(response.isSuccessful());
+            assertEquals("List 1", response.body().getData().getName());
+        }
+        
+        assertEquals(1, mockWebServer.getRequestCount());
+        CacheStats stats = client.cacheStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+    
+    @Test
+    @DisplayName("Should invalidate an entry after a successful update")
+    void testInvalidationOnUpdate() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .cache(CacheConfig.builder().build())
+                .build();
+        
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(2L).execute();
+        client.lists().updateList(1L, ListRequest.builder("Renamed").build()).execute();
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(2L).execute();
+        
+        assertEquals(4, mockWebServer.getRequestCount());
+        assertEquals(1, client.cacheStats().getInvalidations());
+        assertEquals(1, client.cacheStats().getHits());
+    }
+    
+    @Test
+    @DisplayName("Should expire entries after their TTL")
+    void testExpiry() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .cache(CacheConfig.builder().listTtl(Duration.ofMillis(1)).build())
+                .build();
+        
+        client.lists().getListById(1L).execute();
+        Thread.sleep(20);
+        client.lists().getListById(1L).execute();
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(0, client.cacheStats().getHits());
+    }
+    
+    @Test
+    @DisplayName("Should reject zero and negative TTLs")
+    void testRejectsNonPositiveTtl() {
+        assertThrows(IllegalArgumentException.class, () -> CacheConfig.builder().ttl(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> CacheConfig.builder().subscriberTtl(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> CacheConfig.builder().listTtl(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> CacheConfig.builder().campaignTtl(Duration.ofMillis(-1)));
+    }
+    
+    @Test
+    @DisplayName("Should evict least recently used entries beyond the size bound")
+    void testEviction() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .cache(CacheConfig.builder().maxEntries(2).build())
+                .build();
+        
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(2L).execute();
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(3L).execute();
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(2L).execute();
+        
+        CacheStats stats = client.cacheStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+        assertEquals(4, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should report empty statistics when caching is disabled")
+    void testDisabledCache() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(baseUrl).build();
+        
+        client.lists().getListById(1L).execute();
+        client.lists().getListById(1L).execute();
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(0, client.cacheStats().getMisses());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.ApiResponse;
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.*;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for retrying failed requests.
+ */
+class RetryTest {
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private ListmonkClient client(RetryPolicy.Builder policy) {
+        return ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .retryPolicy(policy.initialBackoff(Duration.ofMillis(1)).build())
+                .build();
+    }
+    
+    private static MockResponse ok() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json");
+    }
+    
+    private static MockResponse status(int code) {
+        return new MockResponse().setResponseCode(code).setBody("{\"message\": \"busy\"}");
+    }
+    
+    @Test
+    @DisplayName("Should retry GET requests on retryable statuses")
+    void testRetriesRetryableStatus() throws Exception {
+        mockWebServer.enqueue(status(503));
+        mockWebServer.enqueue(status(502));
+        mockWebServer.enqueue(ok());
+        
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder()).health().getHealth().execute();
+        
+        assertTrue(response.isSuccessful());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should retry connection errors")
+    void testRetriesConnectionErrors() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(ok());
+        
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder()).health().getHealth().execute();
+        
+        assertTrue(response.isSuccessful());
+    }
+    
+    @Test
+    @DisplayName("Should return the last response once retries are exhausted")
+    void testGivesUpAfterMaxRetries() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(status(503));
+        }
+        
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder().maxRetries(2))
+                .health().getHealth().execute();
+        
+        assertEquals(503, response.code());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should not retry non-retryable statuses")
+    void testDoesNotRetryClientErrors() throws Exception {
+        mockWebServer.enqueue(status(400));
+        
+        assertEquals(400, client(RetryPolicy.builder()).health().getHealth().execute().code());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should only retry POST requests when enabled")
+    void testPostRetriesAreOptIn() throws Exception {
+        TransactionalMessage message = TransactionalMessage.builder(2L).subscriberEmail("user@example.com").build();
+        mockWebServer.enqueue(status(503));
+        mockWebServer.enqueue(status(503));
+        mockWebServer.enqueue(ok());
+        
+        assertEquals(503, client(RetryPolicy.builder())
+                .transactional().sendTransactionalMessage(message).execute().code());
+        assertTrue(client(RetryPolicy.builder().retryPost(true))
+                .transactional().sendTransactionalMessage(message).execute().isSuccessful());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should wait for Retry-After before retrying")
+    void testHonorsRetryAfter() throws Exception {
+        mockWebServer.enqueue(status(429).setHeader("Retry-After", "1"));
+        mockWebServer.enqueue(ok());
+        
+        long start = System.nanoTime();
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder()).health().getHealth().execute();
+        
+        assertTrue(response.isSuccessful());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1000);
+    }
+    
+    @Test
+    @DisplayName("Should not wait for a Retry-After beyond the maximum backoff")
+    void testRejectsLongRetryAfter() throws Exception {
+        mockWebServer.enqueue(status(429).setHeader("Retry-After", "120"));
+        
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder().maxBackoff(Duration.ofSeconds(5)))
+                .health().getHealth().execute();
+        
+        assertEquals(429, response.code());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    void testRetryBudget() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockWebServer.enqueue(status(503));
+        }
+        
+        // With no earned or minimum budget only the initial token is available
+        Response<ApiResponse<Boolean>> response = client(RetryPolicy.builder().retryBudget(0, 0))
+                .health().getHealth().execute();
+        
+        assertEquals(503, response.code());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should stop waiting to retry when the call is cancelled")
+    void testCancellationStopsBackoff() throws Exception {
+        mockWebServer.enqueue(status(429).setHeader("Retry-After", "3"));
+        mockWebServer.enqueue(ok());
+        retrofit2.Call<ApiResponse<Boolean>> call = client(RetryPolicy.builder()).health().getHealth();
+        
+        CompletableFuture<Response<ApiResponse<Boolean>>> execution = CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.execute();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (mockWebServer.getRequestCount() < 1) {
+            Thread.sleep(10);
+        }
+        long start = System.nanoTime();
+        call.cancel();
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> execution.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause().getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should not start a retry whose wait outlasts the call timeout")
+    void testBackoffRespectsCallTimeout() throws Exception {
+        mockWebServer.enqueue(status(429).setHeader("Retry-After", "3"));
+        mockWebServer.enqueue(ok());
+        retrofit2.Call<ApiResponse<Boolean>> call = client(RetryPolicy.builder()).health().getHealth();
+        call.timeout().timeout(1, TimeUnit.SECONDS);
+        
+        long start = System.nanoTime();
+        Response<ApiResponse<Boolean>> response = call.execute();
+        
+        assertEquals(429, response.code());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.SubscriberService;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for lazy service creation and warm-up.
+ */
+class StartupTest {
+    
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should create services lazily and reuse them")
+    void testLazyServices() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .lazyServices(true)
+                .build();
+        mockWebServer.enqueue(jsonResponse("{\"data\": {\"id\": 1, \"email\": \"a@example.com\"}}"));
+        mockWebServer.enqueue(jsonResponse("{\"data\": true}"));
+        
+        SubscriberService subscribers = client.subscribers();
+        assertSame(subscribers, client.subscribers());
+        Subscriber subscriber = client.async().subscribers().getSubscriberById(1L).get(5, TimeUnit.SECONDS);
+        assertEquals("a@example.com", subscriber.getEmail());
+        assertTrue(client.withReadTimeout(Duration.ofSeconds(5)).health().getHealth().execute().isSuccessful());
+    }
+    
+    @Test
+    @DisplayName("Should prepare every service method without sending requests")
+    void testWarmUp() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .lazyServices(true)
+                .build();
+        
+        client.warmUp();
+        client.withAuth("tenant", "secret").warmUp();
+        assertEquals(0, mockWebServer.getRequestCount());
+        
+        mockWebServer.enqueue(jsonResponse("{\"data\": {\"id\": 1, \"email\": \"a@example.com\"}}"));
+        assertEquals("a@example.com", client.subscribers().getSubscriberById(1L).execute().body().getData().getEmail());
+    }
+    
+    @Test
+    @DisplayName("Should warm up models with a generated codec through the codec instead of Jackson")
+    void testWarmUpSkipsJacksonForCodecModels() {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString()).build();
+        client.warmUp();
+        
+        ObjectMapper mapper = client.objectMapper();
+        DefaultSerializerProvider serializers = (DefaultSerializerProvider) mapper.getSerializerProvider();
+        int warmed = serializers.cachedSerializersCount();
+        mapper.writerFor(mapper.constructType(TransactionalMessage.class));
+        assertTrue(serializers.cachedSerializersCount() > warmed);
+    }
+    
+    private static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody(body)
+                .setHeader("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Subscriber;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batching subscriber lookups by ID.
+ */
+class SubscriberLoaderTest {
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String query = request.getRequestUrl().queryParameter("query");
+                String ids = query.substring(query.indexOf('(') + 1, query.indexOf(')'));
+                String results = Stream.of(ids.split(","))
+                        .filter(id -> !id.equals("999"))
+                        .map(id -> "{\"id\": " + id + ", \"email\": \"user" + id + "@example.com\"}")
+                        .collect(Collectors.joining(","));
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"data\": {\"results\": [" + results + "], \"total\": 0}}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString()).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should combine lookups within the window into one query")
+    void testBatchesLookups() throws Exception {
+        try (SubscriberLoader loader = SubscriberLoader.builder(client)
+                .window(Duration.ofMillis(50))
+                .maxBatchSize(10)
+                .build()) {
+            CompletableFuture<Subscriber> first = loader.load(1);
+            CompletableFuture<Subscriber> second = loader.load(2);
+            CompletableFuture<Subscriber> duplicate = loader.load(1);
+            CompletableFuture<Subscriber> missing = loader.load(999);
+            
+            assertSame(first, duplicate);
+            assertEquals("user1@example.com", first.get(5, TimeUnit.SECONDS).getEmail());
+            assertEquals("user2@example.com", second.get(5, TimeUnit.SECONDS).getEmail());
+            
+            ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+            assertEquals(404, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        }
+        
+        assertEquals(1, mockWebServer.getRequestCount());
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertTrue(request.getRequestUrl().queryParameter("query").startsWith("subscribers.id IN ("));
+        assertEquals("3", request.getRequestUrl().queryParameter("per_page"));
+    }
+    
+    @Test
+    @DisplayName("Should dispatch a batch as soon as it is full")
+    void testDispatchesFullBatches() throws Exception {
+        try (SubscriberLoader loader = SubscriberLoader.builder(client)
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(2)
+                .build()) {
+            CompletableFuture<Subscriber> a = loader.load(1);
+            CompletableFuture<Subscriber> b = loader.load(2);
+            CompletableFuture<Subscriber> c = loader.load(3);
+            CompletableFuture<Subscriber> d = loader.load(4);
+            
+            CompletableFuture.allOf(a, b, c, d).get(5, TimeUnit.SECONDS);
+            assertEquals(4L, d.join().getId());
+        }
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should reject lookups after close")
+    void testRejectsAfterClose() {
+        SubscriberLoader loader = SubscriberLoader.builder(client).build();
+        loader.close();
+        
+        assertTrue(loader.load(1).isCompletedExceptionally());
+    }
+}
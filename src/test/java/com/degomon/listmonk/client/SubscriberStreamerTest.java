@@ -0,0 +1,129 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.Subscriber;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for incremental decoding of subscriber pages.
+ */
+class SubscriberStreamerTest {
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        
+        String baseUrl = mockWebServer.url("/api/").toString();
+        client = ListmonkClient.builder(baseUrl).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should decode subscribers from the results envelope")
+    void testForEachWithEnvelope() throws Exception {
+        String jsonResponse = """
+                {
+                  "data": {
+                    "query": "",
+                    "results": [
+                      {"id": 1, "email": "one@example.com", "attribs": {"nested": {"a": [1, 2]}}},
+                      {"id": 2, "email": "two@example.com", "lists": [{"id": 3, "name": "News"}]}
+                    ],
+                    "total": 2,
+                    "per_page": 20,
+                    "page": 1
+                  }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(jsonResponse)
+                .setHeader("Content-Type", "application/json"));
+        
+        List<String> emails = new ArrayList<>();
+        long count = client.subscriberStreamer().forEach(1, 20, null, null, s -> emails.add(s.getEmail()));
+        
+        assertEquals(2, count);
+        assertEquals(List.of("one@example.com", "two@example.com"), emails);
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("20", request.getRequestUrl().queryParameter("per_page"));
+    }
+    
+    @Test
+    @DisplayName("Should stream all subscribers from a bare data array")
+    void testStreamAllWithArray() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": [{\"id\": 1}, {\"id\": 2}, {\"id\": 3}]}")
+                .setHeader("Content-Type", "application/json"));
+        
+        try (Stream<Subscriber> stream = client.subscriberStreamer().streamAll(null, 5L)) {
+            assertEquals(List.of(1L, 2L, 3L), stream.map(Subscriber::getId).collect(Collectors.toList()));
+        }
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("all", request.getRequestUrl().queryParameter("per_page"));
+        assertEquals("5", request.getRequestUrl().queryParameter("list_id"));
+    }
+    
+    @Test
+    @DisplayName("Should handle responses without results")
+    void testEmptyResults() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": {\"results\": null, \"total\": 0}}")
+                .setHeader("Content-Type", "application/json"));
+        
+        assertEquals(0, client.subscriberStreamer().forEachAll(null, null, s -> fail("No subscribers expected")));
+    }
+    
+    @Test
+    @DisplayName("Should throw on API error")
+    void testErrorResponse() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("{\"message\": \"Internal error\"}")
+                .setHeader("Content-Type", "application/json"));
+        
+        ListmonkException e = assertThrows(ListmonkException.class,
+                () -> client.subscriberStreamer().stream(1, 10, null, null));
+        assertEquals(500, e.getStatusCode());
+    }
+}
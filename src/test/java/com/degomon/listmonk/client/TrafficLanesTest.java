@@ -0,0 +1,160 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.degomon.listmonk.service.SubscriberService;
+import com.degomon.listmonk.service.TrafficClass;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for routing requests into per-traffic-class lanes.
+ */
+class TrafficLanesTest {
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MockWebServer mockWebServer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                String body = request.getPath().startsWith("/api/subscribers?")
+                        ? "{\"data\": {\"results\": [], \"total\": 0}}"
+                        : request.getPath().startsWith("/api/subscribers/")
+                        ? "{\"data\": {\"id\": 1}}"
+                        : "{\"data\": true}";
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(body)
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        mockWebServer.shutdown();
+    }
+    
+    private static void awaitRunning(okhttp3.Dispatcher dispatcher, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.runningCallsCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should route requests to the lane of their traffic class")
+    void testRoutesByTrafficClass() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .trafficLane(TrafficClass.BULK, 4, 1)
+                .build();
+        
+        CompletableFuture<?> page = client.async().subscribers().getSubscribersPage(1, 100, null, null, null, null);
+        CompletableFuture<?> lookup = client.async().subscribers().getSubscriberById(1L);
+        awaitRunning(client.dispatcher(TrafficClass.BULK), 1);
+        awaitRunning(client.dispatcher(TrafficClass.INTERACTIVE), 1);
+        
+        assertEquals(1, client.dispatcher(TrafficClass.BULK).runningCallsCount());
+        assertEquals(1, client.dispatcher(TrafficClass.INTERACTIVE).runningCallsCount());
+        assertEquals(0, client.dispatcher(TrafficClass.TRANSACTIONAL).runningCallsCount());
+        
+        release.countDown();
+        CompletableFuture.allOf(page, lookup).get(5, TimeUnit.SECONDS);
+    }
+    
+    @Test
+    @DisplayName("Should let service mappings override annotations")
+    void testServiceOverride() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .trafficClass(SubscriberService.class, TrafficClass.BULK)
+                .build();
+        
+        CompletableFuture<?> lookup = client.async().subscribers().getSubscriberById(1L);
+        awaitRunning(client.dispatcher(TrafficClass.BULK), 1);
+        
+        assertEquals(1, client.dispatcher(TrafficClass.BULK).runningCallsCount());
+        release.countDown();
+        lookup.get(5, TimeUnit.SECONDS);
+    }
+    
+    @Test
+    @DisplayName("Should throttle the bulk lane while transactional sends are in flight")
+    void testTransactionalPreemptsBulk() throws Exception {
+        ListmonkClient client = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .trafficLane(TrafficClass.BULK, 4, 1)
+                .build();
+        okhttp3.Dispatcher bulk = client.dispatcher(TrafficClass.BULK);
+        
+        CompletableFuture<Boolean> send = client.async().transactional()
+                .sendTransactionalMessage(TransactionalMessage.builder(2L).subscriberEmail("user@example.com").build());
+        awaitRunning(client.dispatcher(TrafficClass.TRANSACTIONAL), 1);
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        assertEquals(1, bulk.getMaxRequests());
+        
+        List<CompletableFuture<?>> pages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pages.add(client.async().subscribers().getSubscribersPage(i + 1, 100, null, null, null, null));
+        }
+        assertEquals(1, bulk.runningCallsCount());
+        assertEquals(2, bulk.queuedCallsCount());
+        
+        release.countDown();
+        assertTrue(send.get(5, TimeUnit.SECONDS));
+        CompletableFuture.allOf(pages.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(4, bulk.getMaxRequests());
+    }
+    
+    @Test
+    @DisplayName("Should reject client-wide concurrency limits together with traffic lanes")
+    void testRejectsClientWideLimits() {
+        String baseUrl = mockWebServer.url("/api/").toString();
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder(baseUrl)
+                .trafficLane(TrafficClass.BULK, 4, 1)
+                .maxRequests(10)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder(baseUrl)
+                .trafficClass(SubscriberService.class, TrafficClass.BULK)
+                .maxRequestsPerHost(10)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> ListmonkClient.builder(baseUrl)
+                .trafficLane(TrafficClass.TRANSACTIONAL, 8, 2)
+                .adaptiveConcurrencyLimit(AdaptiveLimitConfig.builder().build())
+                .build());
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batching transactional messages into multi-recipient sends.
+ */
+class TransactionalBatcherTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString()).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private static MockResponse ok() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json");
+    }
+    
+    @Test
+    @DisplayName("Should group messages with identical content into one send")
+    void testGroupsMatchingMessages() throws Exception {
+        mockWebServer.enqueue(ok());
+        mockWebServer.enqueue(ok());
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client)
+                .window(Duration.ofMinutes(1))
+                .build()) {
+            futures.add(batcher.send(TransactionalMessage.builder(2L).subject("Hi").subscriberEmail("a@example.com").build()));
+            futures.add(batcher.send(TransactionalMessage.builder(2L).subject("Hi").subscriberEmail("b@example.com").build()));
+            futures.add(batcher.send(TransactionalMessage.builder(2L).subject("Other").subscriberEmail("c@example.com").build()));
+        }
+        
+        for (CompletableFuture<Boolean> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, mockWebServer.getRequestCount());
+        
+        JsonNode grouped = null;
+        for (int i = 0; i < 2; i++) {
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertEquals("/api/tx", request.getPath());
+            JsonNode body = mapper.readTree(request.getBody().readUtf8());
+            assertFalse(body.has("subscriber_email"));
+            if ("Hi".equals(body.get("subject").asText())) {
+                grouped = body;
+            }
+        }
+        assertNotNull(grouped);
+        assertEquals(2, grouped.get("subscriber_emails").size());
+        assertEquals(2, grouped.get("template_id").asLong());
+    }
+    
+    @Test
+    @DisplayName("Should send a batch once it reaches the maximum size")
+    void testSendsFullBatch() throws Exception {
+        mockWebServer.enqueue(ok());
+        
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client)
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(2)
+                .build()) {
+            CompletableFuture<Boolean> first = batcher.send(TransactionalMessage.builder(3L).subscriberId(1L).build());
+            CompletableFuture<Boolean> second = batcher.send(TransactionalMessage.builder(3L).subscriberId(2L).build());
+            
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        }
+        
+        JsonNode body = mapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertEquals("[1,2]", body.get("subscriber_ids").toString());
+    }
+    
+    @Test
+    @DisplayName("Should fail every recipient of a failed batch")
+    void testFailsAllRecipients() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("{\"message\": \"boom\"}"));
+        
+        CompletableFuture<Boolean> first;
+        CompletableFuture<Boolean> second;
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client).build()) {
+            first = batcher.send(TransactionalMessage.builder(2L).subscriberEmail("a@example.com").build());
+            second = batcher.send(TransactionalMessage.builder(2L).subscriberEmail("b@example.com").build());
+        }
+        
+        for (CompletableFuture<Boolean> future : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals(500, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should send messages with an idempotency key unbatched so duplicates are deduplicated")
+    void testIdempotencyKeysAreNotMerged() throws Exception {
+        ListmonkClient idempotentClient = ListmonkClient.builder(mockWebServer.url("/api/").toString())
+                .idempotencyWindow(Duration.ofMinutes(1), 100)
+                .build();
+        mockWebServer.enqueue(ok());
+        mockWebServer.enqueue(ok());
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(idempotentClient)
+                .window(Duration.ofMinutes(1))
+                .build()) {
+            futures.add(batcher.send(TransactionalMessage.builder(2L)
+                    .subscriberEmail("a@example.com").idempotencyKey("order-1").build()));
+            futures.add(batcher.send(TransactionalMessage.builder(2L)
+                    .subscriberEmail("a@example.com").idempotencyKey("order-1").build()));
+            futures.add(batcher.send(TransactionalMessage.builder(2L)
+                    .subscriberEmail("b@example.com").idempotencyKey("order-2").build()));
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS));
+            }
+        }
+        
+        assertEquals(2, mockWebServer.getRequestCount());
+        for (int i = 0; i < 2; i++) {
+            JsonNode body = mapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+            assertTrue(body.has("subscriber_email"));
+            assertFalse(body.has("subscriber_emails"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should resend a rejected batch per recipient so only rejected recipients fail")
+    void testFallsBackToSingleSendsOnClientError() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getBody().readUtf8();
+                if (body.contains("subscriber_emails") || body.contains("b@example.com")) {
+                    return new MockResponse().setResponseCode(400).setBody("{\"message\": \"Subscriber not found\"}");
+                }
+                return ok();
+            }
+        });
+        
+        CompletableFuture<Boolean> first;
+        CompletableFuture<Boolean> second;
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client).build()) {
+            first = batcher.send(TransactionalMessage.builder(2L).subscriberEmail("a@example.com").build());
+            second = batcher.send(TransactionalMessage.builder(2L).subscriberEmail("b@example.com").build());
+        }
+        
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals(400, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should fail the whole batch without resending when the error is not about a recipient")
+    void testBatchWideRejectionFailsAll() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("{\"message\": \"Unknown template\"}"));
+        
+        CompletableFuture<Boolean> first;
+        CompletableFuture<Boolean> second;
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client).build()) {
+            first = batcher.send(TransactionalMessage.builder(99L).subscriberEmail("a@example.com").build());
+            second = batcher.send(TransactionalMessage.builder(99L).subscriberEmail("b@example.com").build());
+        }
+        
+        for (CompletableFuture<Boolean> future : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals(400, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should fail only the recipients named in the error and resend the rest as one batch")
+    void testFailsNamedRecipients() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getBody().clone().readUtf8().contains("b@example.com")) {
+                    return new MockResponse().setResponseCode(400)
+                            .setBody("{\"message\": \"Invalid email: B@example.com\"}");
+                }
+                return ok();
+            }
+        });
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client).build()) {
+            for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+                futures.add(batcher.send(TransactionalMessage.builder(2L).subscriberEmail(email).build()));
+            }
+        }
+        
+        assertTrue(futures.get(0).get(5, TimeUnit.SECONDS));
+        assertTrue(futures.get(2).get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> futures.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals(400, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        assertEquals(2, mockWebServer.getRequestCount());
+        mockWebServer.takeRequest();
+        JsonNode body = mapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertEquals("[\"a@example.com\",\"c@example.com\"]", body.get("subscriber_emails").toString());
+    }
+    
+    @Test
+    @DisplayName("Should not let changes to a queued message's data affect its batch")
+    void testCopiesDataOnEnqueue() throws Exception {
+        mockWebServer.enqueue(ok());
+        Map<String, Object> data = new HashMap<>();
+        data.put("order", "A-1");
+        
+        CompletableFuture<Boolean> first;
+        CompletableFuture<Boolean> second;
+        try (TransactionalBatcher batcher = TransactionalBatcher.builder(client)
+                .window(Duration.ofMinutes(1))
+                .build()) {
+            first = batcher.send(TransactionalMessage.builder(2L).subscriberEmail("a@example.com").data(data).build());
+            data.put("order", "B-2");
+            second = batcher.send(TransactionalMessage.builder(2L)
+                    .subscriberEmail("b@example.com").data(Map.of("order", "A-1")).build());
+        }
+        
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mockWebServer.getRequestCount());
+        JsonNode body = mapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertEquals("A-1", body.get("data").get("order").asText());
+        assertEquals(2, body.get("subscriber_emails").size());
+    }
+}
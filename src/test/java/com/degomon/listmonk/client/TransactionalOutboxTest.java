@@ -0,0 +1,202 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the durable transactional outbox.
+ */
+class TransactionalOutboxTest {
+    
+    @TempDir
+    Path directory;
+    
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    private volatile int status = 200;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setResponseCode(status)
+                        .setBody(status == 200 ? "{\"data\": true}" : "{\"message\": \"error\"}")
+                        .setHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString()).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    private static TransactionalMessage message(String email) {
+        return TransactionalMessage.builder(2L).subscriberEmail(email).build();
+    }
+    
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should deliver and acknowledge enqueued messages")
+    void testDeliversMessages() throws Exception {
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory).build()) {
+            assertTrue(outbox.enqueue(message("a@example.com")).get(5, TimeUnit.SECONDS));
+            assertEquals(0, outbox.pendingCount());
+        }
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("/api/tx", request.getPath());
+        assertTrue(request.getBody().readUtf8().contains("a@example.com"));
+        assertTrue(Files.exists(directory.resolve("outbox.checkpoint")));
+    }
+    
+    @Test
+    @DisplayName("Should replay unacknowledged messages when reopened")
+    void testReplaysAfterRestart() throws Exception {
+        status = 503;
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory).build()) {
+            outbox.enqueue(message("a@example.com"));
+            outbox.enqueue(message("b@example.com"));
+            mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+            mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+            assertEquals(2, outbox.pendingCount());
+        }
+        
+        status = 200;
+        int before = mockWebServer.getRequestCount();
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory).build()) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (outbox.pendingCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, outbox.pendingCount());
+        }
+        
+        Set<String> replayed = new TreeSet<>();
+        for (int i = 0; i < mockWebServer.getRequestCount() - before; i++) {
+            RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            String body = request.getBody().readUtf8();
+            replayed.add(body.contains("a@example.com") ? "a" : body.contains("b@example.com") ? "b" : body);
+        }
+        assertEquals(Set.of("a", "b"), replayed);
+        
+        // Everything is acknowledged, so a third opening has nothing to replay
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory).build()) {
+            assertEquals(0, outbox.pendingCount());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should delete segments once all their messages are acknowledged")
+    void testCompactsSegments() throws Exception {
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory)
+                .segmentSize(1024)
+                .checkpointInterval(Duration.ofMillis(20), 1000)
+                .build()) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(outbox.enqueue(message("user" + i + "@example.com")));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (segmentCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, segmentCount());
+        }
+        assertEquals(50, mockWebServer.getRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Should acknowledge messages rejected with a client error")
+    void testPermanentFailure() throws Exception {
+        status = 400;
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory).build()) {
+            CompletableFuture<Boolean> future = outbox.enqueue(message("a@example.com"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals(400, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+            assertEquals(0, outbox.pendingCount());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should write the checkpoint after a batch of acknowledgements")
+    void testCheckpointsAfterBatch() throws Exception {
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory)
+                .checkpointInterval(Duration.ofHours(1), 2)
+                .build()) {
+            assertTrue(outbox.enqueue(message("a@example.com")).get(5, TimeUnit.SECONDS));
+            assertFalse(Files.exists(directory.resolve("outbox.checkpoint")));
+            
+            assertTrue(outbox.enqueue(message("b@example.com")).get(5, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!Files.exists(directory.resolve("outbox.checkpoint")) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.exists(directory.resolve("outbox.checkpoint")));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should give up on a message after the maximum number of attempts")
+    void testMaxAttempts() throws Exception {
+        status = 503;
+        try (TransactionalOutbox outbox = TransactionalOutbox.builder(client, directory)
+                .maxAttempts(3)
+                .build()) {
+            CompletableFuture<Boolean> future = outbox.enqueue(message("a@example.com"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals(503, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+            assertEquals(0, outbox.pendingCount());
+        }
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+}
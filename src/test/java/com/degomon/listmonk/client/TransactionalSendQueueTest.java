@@ -0,0 +1,202 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import com.degomon.listmonk.model.TransactionalMessage;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the background transactional send queue.
+ */
+class TransactionalSendQueueTest {
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MockWebServer mockWebServer;
+    private ListmonkClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        client = ListmonkClient.builder(mockWebServer.url("/api/").toString()).build();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        mockWebServer.shutdown();
+    }
+    
+    private static TransactionalMessage message(String email) {
+        return TransactionalMessage.builder(2L).subscriberEmail(email).build();
+    }
+    
+    private static MockResponse ok() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json");
+    }
+    
+    /**
+     * Hold every response until the test releases the latch.
+     */
+    private void holdResponses() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return ok();
+            }
+        });
+    }
+    
+    @Test
+    @DisplayName("Should send queued messages on background workers")
+    void testSendsInBackground() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockWebServer.enqueue(ok());
+        }
+        
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        TransactionalSendQueue queue = TransactionalSendQueue.builder(client).workers(2).build();
+        for (int i = 0; i < 5; i++) {
+            futures.add(queue.submit(message("user" + i + "@example.com")));
+        }
+        assertTrue(queue.close(Duration.ofSeconds(5)));
+        
+        for (CompletableFuture<Boolean> future : futures) {
+            assertTrue(future.get(1, TimeUnit.SECONDS));
+        }
+        SendQueueStats stats = queue.stats();
+        assertEquals(5, stats.getSubmitted());
+        assertEquals(5, stats.getSent());
+        assertEquals(0, stats.getQueueDepth());
+        assertTrue(stats.getThroughputPerSecond() > 0);
+        assertThrows(RejectedExecutionException.class, () -> queue.submit(message("late@example.com")));
+    }
+    
+    @Test
+    @DisplayName("Should fail fast when the queue is full")
+    void testFailFast() throws Exception {
+        holdResponses();
+        
+        try (TransactionalSendQueue queue = TransactionalSendQueue.builder(client)
+                .workers(1)
+                .capacity(1)
+                .overflowPolicy(TransactionalSendQueue.OverflowPolicy.FAIL_FAST)
+                .build()) {
+            CompletableFuture<Boolean> first = queue.submit(message("a@example.com"));
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> second = queue.submit(message("b@example.com"));
+            
+            assertThrows(RejectedExecutionException.class, () -> queue.submit(message("c@example.com")));
+            assertEquals(1, queue.stats().getQueueDepth());
+            assertEquals(1, queue.stats().getInFlight());
+            assertEquals(1, queue.stats().getDropped());
+            
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should drop messages when the queue is full")
+    void testDrop() throws Exception {
+        holdResponses();
+        
+        try (TransactionalSendQueue queue = TransactionalSendQueue.builder(client)
+                .workers(1)
+                .capacity(1)
+                .overflowPolicy(TransactionalSendQueue.OverflowPolicy.DROP)
+                .build()) {
+            queue.submit(message("a@example.com"));
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+            queue.submit(message("b@example.com"));
+            
+            CompletableFuture<Boolean> dropped = queue.submit(message("c@example.com"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> dropped.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            release.countDown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should complete futures exceptionally when a send fails")
+    void testFailedSend() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("{\"message\": \"bad template\"}"));
+        
+        TransactionalSendQueue queue = TransactionalSendQueue.builder(client).workers(1).build();
+        CompletableFuture<Boolean> future = queue.submit(message("a@example.com"));
+        assertTrue(queue.close(Duration.ofSeconds(5)));
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertEquals(400, assertInstanceOf(ListmonkException.class, e.getCause()).getStatusCode());
+        assertEquals(1, queue.stats().getFailed());
+    }
+    
+    @Test
+    @DisplayName("Should complete or reject every message submitted while the queue closes")
+    void testSubmitRacingClose() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return ok();
+            }
+        });
+        
+        for (int round = 0; round < 20; round++) {
+            TransactionalSendQueue queue = TransactionalSendQueue.builder(client).workers(1).build();
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        futures.add(queue.submit(message("user" + i + "@example.com")));
+                    } catch (RejectedExecutionException e) {
+                        return;
+                    }
+                }
+            });
+            submitter.start();
+            queue.close(Duration.ofSeconds(5));
+            submitter.join();
+            
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+}
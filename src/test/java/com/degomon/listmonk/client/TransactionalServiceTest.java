@@ -313,4 +313,25 @@ class TransactionalServiceTest {
         assertFalse(requestBody.contains("\"from_email\":null"));
         assertFalse(requestBody.contains("\"subject\":null"));
     }
+    
+    @Test
+    @DisplayName("Should send transactional message with unwrapped response")
+    void testSendTransactionalMessageUnwrapped() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": true}")
+                .setHeader("Content-Type", "application/json"));
+        
+        TransactionalMessage message = TransactionalMessage.builder(1L)
+                .subscriberEmail("user@example.com")
+                .build();
+        
+        Response<Boolean> response = client.transactional()
+                .sendTransactionalMessageUnwrapped(message)
+                .execute();
+        
+        assertTrue(response.isSuccessful());
+        assertEquals(true, response.body());
+        assertEquals("/api/tx", mockWebServer.takeRequest().getPath());
+    }
 }
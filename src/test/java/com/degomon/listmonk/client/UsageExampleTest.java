@@ -20,10 +20,13 @@ package com.degomon.listmonk.client;
 
 import com.degomon.listmonk.model.ApiResponse;
 import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.CampaignStatusRequest;
 import com.degomon.listmonk.model.MailingList;
 import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.SubscriberRequest;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.junit.jupiter.api.*;
 import retrofit2.Response;
@@ -395,4 +398,65 @@ class UsageExampleTest {
         assertFalse(response.isSuccessful());
         assertEquals(404, response.code());
     }
+    
+    @Test
+    @DisplayName("Example 11: Create a subscriber with a typed request body")
+    void exampleCreateSubscriberWithTypedRequest() throws Exception {
+        String baseUrl = mockWebServer.url("/api/").toString();
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .basicAuth("admin", "password")
+                .build();
+        
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": {\"id\": 101, \"email\": \"typed@example.com\"}}")
+                .setHeader("Content-Type", "application/json"));
+        
+        // Typed request bodies avoid building a Map for every request
+        SubscriberRequest newSubscriber = SubscriberRequest.builder("typed@example.com")
+                .name("Typed User")
+                .status("enabled")
+                .lists(List.of(1L, 2L))
+                .preconfirmSubscriptions(true)
+                .build();
+        
+        Response<ApiResponse<Subscriber>> response = client.subscribers()
+                .createSubscriber(newSubscriber)
+                .execute();
+        
+        assertTrue(response.isSuccessful());
+        assertEquals(101L, response.body().getData().getId());
+        
+        String requestBody = mockWebServer.takeRequest().getBody().readUtf8();
+        assertTrue(requestBody.contains("\"email\":\"typed@example.com\""));
+        assertTrue(requestBody.contains("\"lists\":[1,2]"));
+        assertTrue(requestBody.contains("\"preconfirm_subscriptions\":true"));
+        assertFalse(requestBody.contains("attribs"));
+    }
+    
+    @Test
+    @DisplayName("Example 12: Start a campaign with a typed status request")
+    void exampleUpdateCampaignStatus() throws Exception {
+        String baseUrl = mockWebServer.url("/api/").toString();
+        ListmonkClient client = ListmonkClient.builder(baseUrl)
+                .basicAuth("admin", "password")
+                .build();
+        
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"data\": {\"id\": 5, \"status\": \"running\"}}")
+                .setHeader("Content-Type", "application/json"));
+        
+        Response<ApiResponse<Campaign>> response = client.campaigns()
+                .updateCampaignStatus(5L, new CampaignStatusRequest("running"))
+                .execute();
+        
+        assertTrue(response.isSuccessful());
+        assertEquals("running", response.body().getData().getStatus());
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("PUT", request.getMethod());
+        assertEquals("/api/campaigns/5/status", request.getPath());
+        assertEquals("{\"status\":\"running\"}", request.getBody().readUtf8());
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.client;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for creating virtual-thread executors and factories.
+ * The build targets Java 17, where only the platform-thread fallback runs; the virtual-thread
+ * tests are enabled on Java 21 and later.
+ */
+class VirtualThreadsTest {
+    
+    @Test
+    @DisplayName("Should fall back to named daemon platform threads without virtual thread support")
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void testFallback() {
+        assertFalse(VirtualThreads.isSupported());
+        
+        Thread thread = VirtualThreads.threadFactory("fallback").newThread(() -> { });
+        
+        assertEquals("fallback-0", thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+    
+    @Test
+    @DisplayName("Should create independent virtual thread factories from concurrent callers")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testConcurrentFactories() throws Exception {
+        assertTrue(VirtualThreads.isSupported());
+        
+        List<CompletableFuture<List<Thread>>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String name = "factory" + i;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                ThreadFactory factory = VirtualThreads.threadFactory(name);
+                return List.of(factory.newThread(() -> { }), factory.newThread(() -> { }));
+            }));
+        }
+        
+        for (int i = 0; i < results.size(); i++) {
+            List<Thread> threads = results.get(i).get();
+            assertEquals("factory" + i + "-0", threads.get(0).getName());
+            assertEquals("factory" + i + "-1", threads.get(1).getName());
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(threads.get(0)));
+        }
+    }
+}
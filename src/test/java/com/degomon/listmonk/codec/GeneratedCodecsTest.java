@@ -0,0 +1,186 @@
+/*
+ * Listmonk API Client - Java client library for the Listmonk API
+ * Copyright (C) 2024 Degomon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.degomon.listmonk.codec;
+
+import com.degomon.listmonk.model.Campaign;
+import com.degomon.listmonk.model.MailingList;
+import com.degomon.listmonk.model.Subscriber;
+import com.degomon.listmonk.model.TransactionalMessage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the generated codecs read and write models the way the client's ObjectMapper does.
+ */
+class GeneratedCodecsTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    
+    @Test
+    @DisplayName("Should register a codec for every annotated model")
+    void testRegistry() {
+        assertTrue(GeneratedCodecs.types().containsAll(List.of(Subscriber.class, Subscriber.SubscriberList.class,
+                Campaign.class, Campaign.CampaignList.class, MailingList.class, TransactionalMessage.class)));
+        assertNull(GeneratedCodecs.get(String.class));
+    }
+    
+    @Test
+    @DisplayName("Should read a subscriber like data binding does")
+    void testReadSubscriber() throws IOException {
+        String json = "{\"id\": 1, \"uuid\": \"u-1\", \"email\": \"a@example.com\", \"name\": \"A\","
+                + "\"status\": \"enabled\", \"unknown\": {\"nested\": [1, 2]},"
+                + "\"attribs\": {\"city\": \"Berlin\", \"score\": 4.5, \"visits\": 12, \"tags\": [\"x\", null],"
+                + "\"big\": 12345678901, \"vip\": true},"
+                + "\"lists\": [{\"id\": 3, \"name\": \"News\", \"subscription_status\": \"confirmed\"}],"
+                + "\"created_at\": \"2024-01-02T03:04:05.123456+01:00\", \"updated_at\": null}";
+        
+        Subscriber generated = read(json, Subscriber.class);
+        Subscriber bound = objectMapper.readValue(json, Subscriber.class);
+        
+        assertEquals(objectMapper.writeValueAsString(bound), objectMapper.writeValueAsString(generated));
+        assertEquals(ZoneOffset.UTC, generated.getCreatedAt().getOffset());
+        assertEquals("confirmed", generated.getLists().get(0).getSubscriptionStatus());
+    }
+    
+    @Test
+    @DisplayName("Should read campaigns and mailing lists like data binding does")
+    void testReadCampaignAndList() throws IOException {
+        String campaign = "{\"id\": 7, \"name\": \"Launch\", \"tags\": [\"a\", \"b\"], \"to_send\": 10,"
+                + "\"lists\": [{\"id\": 1, \"name\": \"All\"}], \"send_at\": \"2024-05-01T10:00:00Z\"}";
+        String list = "{\"id\": 2, \"name\": \"News\", \"tags\": [\"t\"], \"subscriber_count\": 42}";
+        
+        assertEquals(objectMapper.writeValueAsString(objectMapper.readValue(campaign, Campaign.class)),
+                objectMapper.writeValueAsString(read(campaign, Campaign.class)));
+        assertEquals(objectMapper.writeValueAsString(objectMapper.readValue(list, MailingList.class)),
+                objectMapper.writeValueAsString(read(list, MailingList.class)));
+        assertNull(read("null", Subscriber.class));
+    }
+    
+    @Test
+    @DisplayName("Should write models like data binding does")
+    void testWrite() throws IOException {
+        TransactionalMessage message = TransactionalMessage.builder(5L)
+                .subscriberEmail("a@example.com")
+                .data(Map.of("order", Map.of("total", 9.99, "items", List.of("x", "y")),
+                        "placed", OffsetDateTime.parse("2024-01-02T03:04:05Z")))
+                .idempotencyKey("order-1")
+                .build();
+        Subscriber subscriber = objectMapper.readValue("{\"id\": 1, \"email\": \"a@example.com\","
+                + "\"created_at\": \"2024-01-02T03:04:05Z\"}", Subscriber.class);
+        
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(message)),
+                objectMapper.readTree(write(message)));
+        assertEquals(objectMapper.writeValueAsString(subscriber), write(subscriber));
+    }
+    
+    @Test
+    @DisplayName("Should read JSON null into primitive fields as their default value")
+    @SuppressWarnings("unchecked")
+    void testPrimitiveFields(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("src/sample/Counter.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package sample;\n"
+                + "import com.fasterxml.jackson.annotation.JsonInclude;\n"
+                + "import com.fasterxml.jackson.annotation.JsonProperty;\n"
+                + "@com.degomon.listmonk.codec.GenerateCodec\n"
+                + "@JsonInclude(JsonInclude.Include.NON_NULL)\n"
+                + "public class Counter {\n"
+                + "    @JsonProperty(\"count\") private long count;\n"
+                + "    @JsonProperty(\"size\") private int size;\n"
+                + "    @JsonProperty(\"ratio\") private double ratio;\n"
+                + "    @JsonProperty(\"active\") private boolean active;\n"
+                + "    @JsonProperty(\"name\") private String name;\n"
+                + "    public long getCount() { return count; }\n"
+                + "    public void setCount(long count) { this.count = count; }\n"
+                + "    public int getSize() { return size; }\n"
+                + "    public void setSize(int size) { this.size = size; }\n"
+                + "    public double getRatio() { return ratio; }\n"
+                + "    public void setRatio(double ratio) { this.ratio = ratio; }\n"
+                + "    public boolean isActive() { return active; }\n"
+                + "    public void setActive(boolean active) { this.active = active; }\n"
+                + "    public String getName() { return name; }\n"
+                + "    public void setName(String name) { this.name = name; }\n"
+                + "}\n");
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-d", classes.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", "com.degomon.listmonk.codec.processor.CodecProcessor",
+                source.toString()));
+        
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                getClass().getClassLoader())) {
+            JsonCodec<Object> codec = (JsonCodec<Object>) loader.loadClass("sample.CounterCodec")
+                    .getField("INSTANCE").get(null);
+            String json = "{\"count\": null, \"size\": null, \"ratio\": null, \"active\": null,"
+                    + "\"name\": null}";
+            Object generated;
+            try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+                generated = codec.read(parser);
+            }
+            Object bound = objectMapper.readValue(json, generated.getClass());
+            
+            StringWriter out = new StringWriter();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                codec.write(generator, generated);
+            }
+            assertEquals("{\"count\":0,\"size\":0,\"ratio\":0.0,\"active\":false}", out.toString());
+            assertEquals(objectMapper.writeValueAsString(bound), out.toString());
+        }
+    }
+    
+    private <T> T read(String json, Class<T> type) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return GeneratedCodecs.get(type).read(parser);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> String write(T value) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            GeneratedCodecs.get((Class<T>) value.getClass()).write(generator, value);
+        }
+        return out.toString();
+    }
+}